@@ -28,12 +28,14 @@ import static de.amr.games.pacman.lib.Globals.randomInt;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.tinylog.Logger;
-
+import de.amr.games.pacman.ui.fx.util.ResourceLoader;
 import de.amr.games.pacman.ui.fx.util.ResourceMgr;
 import de.amr.games.pacman.ui.fx.v3d.entity.PacModel3D;
 import de.amr.games.pacman.ui.fx.v3d.model.Model3D;
+import javafx.scene.image.Image;
 import javafx.scene.layout.Background;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
@@ -46,17 +48,68 @@ public class AppRes3d {
 	public static final ResourceMgr Manager = new ResourceMgr("/de/amr/games/pacman/ui/fx3d/assets/",
 			AppRes3d.class::getResource);
 
+	private static final CompletableFuture<Void> LOADED = new CompletableFuture<>();
+
+	/**
+	 * Loads the 3D resources and waits until they are available.
+	 */
 	public static void load() {
-		long start = System.nanoTime();
-		load("3D textures", Textures::load);
-		load("3D models", Models3D::load);
-		Logger.info("Loading resources took {} seconds.", (System.nanoTime() - start) / 1e9f);
+		try (var loader = new ResourceLoader("3D resources")) {
+			load(loader);
+			loader.awaitAll();
+			LOADED.complete(null);
+		} catch (RuntimeException x) {
+			LOADED.completeExceptionally(x);
+			throw x;
+		}
+	}
+
+	/**
+	 * Starts loading the 3D resources in a background thread such that the 2D scenes can be shown in the meantime.
+	 * 
+	 * @return future completed when all 3D resources are available
+	 */
+	public static CompletableFuture<Void> loadInBackground() {
+		var thread = new Thread(() -> {
+			try {
+				load();
+			} catch (RuntimeException x) {
+				// already passed to the future
+			}
+		}, "3D resources");
+		thread.setDaemon(true);
+		thread.start();
+		return LOADED;
 	}
 
-	private static void load(String section, Runnable loadingCode) {
-		long start = System.nanoTime();
-		loadingCode.run();
-		Logger.info("Loading {} done ({} seconds).", section, (System.nanoTime() - start) / 1e9f);
+	/**
+	 * @return future completed when all 3D resources are available
+	 */
+	public static CompletableFuture<Void> loaded() {
+		return LOADED;
+	}
+
+	/**
+	 * @return {@code true} if all 3D resources are available
+	 */
+	public static boolean isLoaded() {
+		return LOADED.isDone() && !LOADED.isCompletedExceptionally();
+	}
+
+	/**
+	 * Schedules the loading of the 3D resources. Call {@link ResourceLoader#awaitAll()} to wait for them.
+	 * 
+	 * @param loader resource loader
+	 */
+	public static void load(ResourceLoader loader) {
+		loader.load("sky", Textures::loadBackground);
+		var textureSections = Textures.FLOOR_TEXTURES.entrySet().stream().map(
+				entry -> loader.load("texture " + entry.getValue(), () -> Textures.loadFloorTextureImages(entry.getValue())))
+				.toArray(ResourceLoader.Section[]::new);
+		loader.load("floor materials", Textures::createFloorMaterials, textureSections);
+		loader.load("model Pac-Man", Models3D::loadPacModel);
+		loader.load("model ghost", Models3D::loadGhostModel);
+		loader.load("model pellet", Models3D::loadPelletModel);
 	}
 
 	public static class Models3D {
@@ -70,9 +123,15 @@ public class AppRes3d {
 		public static Model3D ghostModel3D;
 		public static Model3D pelletModel3D;
 
-		static void load() {
+		static void loadPacModel() {
 			pacModel3D = new PacModel3D(Manager.urlFromRelPath("model3D/pacman.obj"));
+		}
+
+		static void loadGhostModel() {
 			ghostModel3D = new Model3D(Manager.urlFromRelPath("model3D/ghost.obj"));
+		}
+
+		static void loadPelletModel() {
 			pelletModel3D = new Model3D(Manager.urlFromRelPath("model3D/12206_Fruit_v1_L3.obj"));
 		}
 	}
@@ -83,18 +142,37 @@ public class AppRes3d {
 		public static Background backgroundForScene3D;
 		private static Map<String, PhongMaterial> floorTexturesByName = new LinkedHashMap<>();
 
-		static void load() {
+		/** Floor texture names and image base names (JPG), in the order shown in the dashboard. */
+		static final Map<String, String> FLOOR_TEXTURES = new LinkedHashMap<>();
+		static {
+			FLOOR_TEXTURES.put("Hexagon", "hexagon");
+			FLOOR_TEXTURES.put("Knobs & Bumps", "knobs");
+			FLOOR_TEXTURES.put("Plastic", "plastic");
+			FLOOR_TEXTURES.put("Wood", "wood");
+		}
+
+		private static final Map<String, Image[]> floorTextureImages = new ConcurrentHashMap<>();
+
+		static void loadBackground() {
 			backgroundForScene3D = Manager.imageBackground("graphics/sky.png");
-			floorTexturesByName.put("Hexagon", createFloorTexture("hexagon", "jpg"));
-			floorTexturesByName.put("Knobs & Bumps", createFloorTexture("knobs", "jpg"));
-			floorTexturesByName.put("Plastic", createFloorTexture("plastic", "jpg"));
-			floorTexturesByName.put("Wood", createFloorTexture("wood", "jpg"));
 		}
 
-		private static PhongMaterial createFloorTexture(String textureBase, String ext) {
-			var material = textureMaterial(textureBase, ext, null, null);
-			material.diffuseColorProperty().bind(Env3d.d3_floorColorPy);
-			return material;
+		static void loadFloorTextureImages(String textureBase) {
+			var bumpMap = Manager.image("graphics/textures/%s-bump.jpg".formatted(textureBase));
+			var diffuseMap = Manager.image("graphics/textures/%s-diffuse.jpg".formatted(textureBase));
+			floorTextureImages.put(textureBase, new Image[] { bumpMap, diffuseMap });
+		}
+
+		// needs the floor texture images. Runs on a loader thread, so the materials are bound to the floor color property
+		// not before they are used on the application thread, see floorTexture()
+		static void createFloorMaterials() {
+			FLOOR_TEXTURES.forEach((name, textureBase) -> {
+				var images = floorTextureImages.remove(textureBase);
+				var material = new PhongMaterial();
+				material.setBumpMap(images[0]);
+				material.setDiffuseMap(images[1]);
+				floorTexturesByName.put(name, material);
+			});
 		}
 
 		public static PhongMaterial textureMaterial(String textureBase, String ext, Color diffuseColor,
@@ -107,12 +185,23 @@ public class AppRes3d {
 			return texture;
 		}
 
+		/**
+		 * Must be called on the application thread.
+		 * 
+		 * @param name floor texture name
+		 * @return floor material bound to the floor color or {@code null} if there is no texture with this name
+		 */
 		public static PhongMaterial floorTexture(String name) {
-			return floorTexturesByName.get(name);
+			var material = floorTexturesByName.get(name);
+			if (material != null && !material.diffuseColorProperty().isBound()) {
+				material.diffuseColorProperty().bind(Env3d.d3_floorColorPy);
+			}
+			return material;
 		}
 
+		// available before the textures are loaded, e.g. for the dashboard
 		public static String[] floorTextureNames() {
-			return floorTexturesByName.keySet().toArray(String[]::new);
+			return FLOOR_TEXTURES.keySet().toArray(String[]::new);
 		}
 
 		public static String randomFloorTextureName() {
@@ -28,9 +28,11 @@ import de.amr.games.pacman.model.world.World;
 import de.amr.games.pacman.ui.fx.v3d.scene.Perspective;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -48,6 +50,7 @@ public class Env3d {
 	public static final BooleanProperty             pipVisiblePy = new SimpleBooleanProperty(false);
 	public static final DoubleProperty              pipOpacityPy = new SimpleDoubleProperty(0.66);
 	public static final DoubleProperty              pipSceneHeightPy = new SimpleDoubleProperty(World.TILES_Y * Globals.TS);
+	public static final IntegerProperty             pipFrameratePy = new SimpleIntegerProperty(30);
 
 	public static final BooleanProperty             d3_axesVisiblePy = new SimpleBooleanProperty(false);
 	public static final ObjectProperty<DrawMode>    d3_drawModePy = new SimpleObjectProperty<>(DrawMode.FILL);
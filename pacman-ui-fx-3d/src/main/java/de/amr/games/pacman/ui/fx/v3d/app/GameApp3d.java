@@ -24,17 +24,24 @@ SOFTWARE.
 package de.amr.games.pacman.ui.fx.v3d.app;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.Collections;
 
 import org.tinylog.Logger;
 
 import de.amr.games.pacman.controller.GameController;
 import de.amr.games.pacman.ui.fx.app.AppRes;
+import de.amr.games.pacman.ui.fx.app.GameMonitor;
 import de.amr.games.pacman.ui.fx.app.Settings;
+import de.amr.games.pacman.ui.fx.util.ResourceLoader;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 /**
+ * Starts as soon as the 2D resources are loaded. The 3D resources are loaded in the background, until they are
+ * available the 2D play scene is used.
+ * 
  * @author Armin Reichert
  */
 public class GameApp3d extends Application {
@@ -47,8 +54,12 @@ public class GameApp3d extends Application {
 
 	@Override
 	public void init() throws Exception {
-		AppRes.load();
-		AppRes3d.load();
+		var settings = new Settings(getParameters() != null ? getParameters().getNamed() : Collections.emptyMap());
+		try (var loader = new ResourceLoader("application resources")) {
+			AppRes.load(settings, loader);
+			loader.awaitAll();
+		}
+		AppRes3d.loadInBackground();
 	}
 
 	@Override
@@ -57,12 +68,24 @@ public class GameApp3d extends Application {
 		var gameController = new GameController(settings.variant);
 		gameUI = new GameUI3d(primaryStage, settings, gameController);
 		gameUI.start();
+		GameMonitor.register(gameUI);
 		Logger.info("Game started. Target frame rate: {}", gameUI.targetFrameratePy.get());
+		AppRes3d.loaded().whenComplete((result, x) -> {
+			if (x != null) {
+				Logger.error(x, "3D resources could not be loaded, only 2D scenes are available");
+			} else {
+				Logger.info("3D resources ready {} ms after start", ManagementFactory.getRuntimeMXBean().getUptime());
+				Platform.runLater(gameUI::on3DResourcesLoaded);
+			}
+		});
 	}
 
 	@Override
 	public void stop() throws Exception {
 		gameUI.stop();
+		gameUI.stopFrameCapture();
+		GameMonitor.unregister();
+		AppRes.Sounds.shutdown();
 		Logger.info("Game stopped");
 	}
 }
\ No newline at end of file
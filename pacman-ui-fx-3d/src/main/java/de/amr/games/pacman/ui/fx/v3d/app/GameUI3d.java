@@ -67,6 +67,7 @@ public class GameUI3d extends GameUI {
 
 	public static final float PIP_MIN_HEIGHT = TS * TILES_Y;
 	public static final float PIP_MAX_HEIGHT = 2.5f * PIP_MIN_HEIGHT;
+	public static final int DASHBOARD_REFRESH_RATE = 20;
 
 	private PlayScene2D pipGameScene;
 	private Dashboard dashboard;
@@ -79,14 +80,6 @@ public class GameUI3d extends GameUI {
 		return dashboard;
 	}
 
-	@Override
-	public void doRender() {
-		flashMessageView.update();
-		currentGameScene.render();
-		dashboard.update();
-		pipGameScene.render();
-	}
-
 	@Override
 	protected List<GameSceneChoice> createPacManScenes(GameController gc) {
 		var scenes = super.createPacManScenes(gc);
@@ -158,14 +151,28 @@ public class GameUI3d extends GameUI {
 		Env3d.d3_enabledPy.addListener((py, oldVal, newVal) -> updateUI());
 		Env3d.d3_enabledPy.set(true);
 		Env3d.d3_perspectivePy.set(Perspective.NEAR_PLAYER);
+
+		renderScheduler.add("Dashboard", dashboard::update, dashboard::isVisible, () -> DASHBOARD_REFRESH_RATE);
+		renderScheduler.add("PiP", pipGameScene::render, pipGameScene.fxSubScene()::isVisible, Env3d.pipFrameratePy::get);
 	}
 
 	@Override
 	protected GameScene chooseGameScene(GameSceneChoice choice) {
-		var use3D = Env3d.d3_enabledPy.get();
+		var use3D = Env3d.d3_enabledPy.get() && AppRes3d.isLoaded();
 		return (use3D && choice.scene3D() != null) ? choice.scene3D() : choice.scene2D();
 	}
 
+	/**
+	 * Called on the application thread when the 3D resources have been loaded in the background. Until then, the 2D
+	 * play scene is used even if 3D is selected.
+	 */
+	public void on3DResourcesLoaded() {
+		if (Env3d.d3_enabledPy.get() && findGameScene(3).isPresent()) {
+			updateGameScene(true);
+			currentGameScene().onSceneVariantSwitch();
+		}
+	}
+
 	@Override
 	protected void handleKeyboardInput() {
 		if (Keyboard.pressed(Keys.USE_3D)) {
@@ -180,7 +187,11 @@ public class GameUI3d extends GameUI {
 
 	public void toggleUse3DScene() {
 		Ufx.toggle(Env3d.d3_enabledPy);
-		if (findGameScene(3).isPresent()) {
+		if (findGameScene(3).isPresent() && !AppRes3d.isLoaded()) {
+			// 2D scene stays until the 3D resources are available
+			Actions.showFlashMessage(
+					AppRes.Texts.message(Env3d.d3_enabledPy.get() ? "use_3D_scene_loading" : "use_2D_scene"));
+		} else if (findGameScene(3).isPresent()) {
 			updateGameScene(true);
 			currentGameScene().onSceneVariantSwitch();
 		} else {
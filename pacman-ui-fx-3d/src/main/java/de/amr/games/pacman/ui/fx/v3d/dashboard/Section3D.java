@@ -23,6 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacman.ui.fx.v3d.dashboard;
 
+import de.amr.games.pacman.ui.fx.rendering2d.SpritesheetRenderer;
 import de.amr.games.pacman.ui.fx.util.Ufx;
 import de.amr.games.pacman.ui.fx.v3d.app.Actions3d;
 import de.amr.games.pacman.ui.fx.v3d.app.Env3d;
@@ -57,6 +58,7 @@ public class Section3D extends Section {
 		comboPerspective.setOnAction(e -> Env3d.d3_perspectivePy.set(comboPerspective.getValue()));
 		addInfo("Camera", () -> (gameScene() instanceof PlayScene3D playScene3D) ? playScene3D.camInfo() : "")
 				.available(() -> gameScene().is3D());
+		addInfo("Sprite Images", this::fmtSubImageCache);
 		sliderPiPSceneHeight = addSlider("PiP Size", GameUI3d.PIP_MIN_HEIGHT, GameUI3d.PIP_MAX_HEIGHT,
 				Env3d.pipSceneHeightPy.get());
 		sliderPiPSceneHeight.valueProperty()
@@ -76,6 +78,15 @@ public class Section3D extends Section {
 		cbWireframeMode = addCheckBox("Wireframe Mode", Actions3d::toggleDrawMode);
 	}
 
+	private String fmtSubImageCache() {
+		if (gameScene().context().rendering2D() instanceof SpritesheetRenderer sr) {
+			var sheet = sr.spritesheet();
+			return "%d cached (%d hits / %d misses)".formatted(sheet.subImageCacheSize(), sheet.subImageHits(),
+					sheet.subImageMisses());
+		}
+		return "";
+	}
+
 	@Override
 	public void update() {
 		super.update();
@@ -24,7 +24,10 @@ SOFTWARE.
 package de.amr.games.pacman.ui.fx.v3d.dashboard;
 
 import de.amr.games.pacman.ui.fx.app.Actions;
+import de.amr.games.pacman.ui.fx.app.AppRes;
 import de.amr.games.pacman.ui.fx.app.Env;
+import de.amr.games.pacman.ui.fx.util.GameLoop;
+import de.amr.games.pacman.ui.fx.util.LatencyHistogram;
 import de.amr.games.pacman.ui.fx.util.Ufx;
 import de.amr.games.pacman.ui.fx.v3d.app.AppRes3d;
 import de.amr.games.pacman.ui.fx.v3d.app.Env3d;
@@ -49,6 +52,8 @@ public class SectionGeneral extends Section {
 	private final Button[] btnsSimulation;
 	private final Spinner<Integer> spinnerSimulationSteps;
 	private final Slider sliderTargetFPS;
+	private final CheckBox cbTurbo;
+	private final Spinner<Integer> spinnerTurboSteps;
 	private final CheckBox cbUsePlayScene3D;
 	private final CheckBox cbPoliticallyCorrect;
 	private final CheckBox cbDebugUI;
@@ -75,7 +80,7 @@ public class SectionGeneral extends Section {
 		btnStep.setStyle("-fx-background-color: transparent");
 		btnStep.setText(null);
 		btnStep.setTooltip(tooltipStep);
-		btnStep.setOnAction(e -> ui.executeSteps(Env.simulationStepsPy.get(), true));
+		btnStep.setOnAction(e -> ui.executeStepsRenderOnce(Env.simulationStepsPy.get()));
 
 		spinnerSimulationSteps = addSpinner("Num Steps", 1, 50, Env.simulationStepsPy.get());
 		spinnerSimulationSteps.valueProperty()
@@ -91,12 +96,32 @@ public class SectionGeneral extends Section {
 
 		addInfo("Total Updates", ui::getUpdateCount);
 
+		cbTurbo = addCheckBox("Turbo", Actions::toggleTurbo);
+		spinnerTurboSteps = addSpinner("Turbo Steps", 2, 100, Env.simulationTurboStepsPy.get());
+		spinnerTurboSteps.valueProperty()
+				.addListener((obs, oldVal, newVal) -> Env.simulationTurboStepsPy.set(newVal.intValue()));
+		addInfo("Turbo Batch", ui::getTurboBatchSize).available(Env.simulationTurboPy::get);
+		addInfo("Dropped/Extra Ticks", () -> "%d / %d".formatted(ui.getDroppedTicks(), ui.getExtraTicks()))
+				.available(() -> ui.modePy.get() == GameLoop.Mode.FIXED_TIMESTEP);
+		addInfo("Idle Time", () -> "%.1f sec (%d frames skipped)".formatted(ui.getIdleNanos() / 1e9, ui.getSkippedRenders()));
+		addInfo("Skipped Renders", ui.renderScheduler()::skippedRendersSummary);
+		addInfo("Sound Calls/sec", () -> AppRes.Sounds.gameSounds(game().variant()).backendCallsPerSecond());
+		addInfo("Update p50/p99/max", () -> fmtPhaseTimes(ui.getUpdateHistogram()))
+				.available(Env.simulationTimeMeasuredPy::get);
+		addInfo("Render p50/p99/max", () -> fmtPhaseTimes(ui.getRenderHistogram()))
+				.available(Env.simulationTimeMeasuredPy::get);
+
 		cbUsePlayScene3D = addCheckBox("3D Play Scene", ui::toggleUse3DScene);
 		cbPoliticallyCorrect = addCheckBox("Woke Pussy Mode", () -> Ufx.toggle(Env3d.wokePussyMode));
 		cbDebugUI = addCheckBox("Show Debug Info", () -> Ufx.toggle(Env.showDebugInfoPy));
 		cbTimeMeasured = addCheckBox("Time Measured", () -> Ufx.toggle(Env.simulationTimeMeasuredPy));
 	}
 
+	private static String fmtPhaseTimes(LatencyHistogram histogram) {
+		return "%.2f / %.2f / %.2f ms".formatted(histogram.windowP50() / 1e6, histogram.windowP99() / 1e6,
+				histogram.windowMax() / 1e6);
+	}
+
 	@Override
 	public void update() {
 		super.update();
@@ -105,6 +130,8 @@ public class SectionGeneral extends Section {
 		btnsSimulation[1].setDisable(!Env.simulationPausedPy.get());
 		spinnerSimulationSteps.getValueFactory().setValue(Env.simulationStepsPy.get());
 		sliderTargetFPS.setValue(Env.simulationSpeedPy.get());
+		cbTurbo.setSelected(Env.simulationTurboPy.get());
+		spinnerTurboSteps.getValueFactory().setValue(Env.simulationTurboStepsPy.get());
 		cbUsePlayScene3D.setSelected(Env3d.d3_enabledPy.get());
 		cbPoliticallyCorrect.setSelected(Env3d.wokePussyMode.get());
 		cbTimeMeasured.setSelected(Env.simulationTimeMeasuredPy.get());
@@ -50,6 +50,7 @@ public class SectionKeys extends Section {
 		addInfo("Alt+LEFT", () -> Env3d.d3_perspectivePy.get().prev().name()).available(() -> gameScene().is3D());
 		addInfo("Alt+RIGHT", () -> Env3d.d3_perspectivePy.get().next().name()).available(() -> gameScene().is3D());
 		addInfo("Alt+3", "3D Play Scene On/Off");
+		addInfo("Alt+F", "Turbo On/Off");
 		addInfo("P", "Pause On/Off");
 		addInfo("SHIFT+P/SPACE", "Single Step");
 		addInfo("Q", "Return to Intro Scene");
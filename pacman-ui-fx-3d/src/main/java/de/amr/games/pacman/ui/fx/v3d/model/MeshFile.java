@@ -0,0 +1,273 @@
+package de.amr.games.pacman.ui.fx.v3d.model;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.TriangleMesh;
+
+/**
+ * Precompiled binary version of a 3D model. Contains the final points, texture coordinates, faces and smoothing groups
+ * of all meshes and the materials, so loading needs no parsing, no vertex deduplication and no smoothing group
+ * computation.
+ * <p>
+ * Layout (little endian, all sections 4-byte aligned):
+ * 
+ * <pre>
+ * int magic "MSH1", int meshCount
+ *   per mesh: string name, float[] points, float[] texCoords, int[] faces, int[] smoothingGroups
+ * int materialCount
+ *   per material: string name, float[4] diffuse RGBA, float[4] specular RGBA, float specularPower, string diffuseMap
+ * </pre>
+ * 
+ * Arrays are stored as length followed by the elements, strings as UTF-8 byte count followed by the bytes padded to 4
+ * bytes. The diffuse map is stored relative to the model file, an empty string means no map.
+ * 
+ * @author Armin Reichert
+ */
+public class MeshFile {
+
+	public static final String EXTENSION = ".mesh";
+
+	private static final int MAGIC = 0x3148534D; // "MSH1"
+
+	public record Content(Map<String, TriangleMesh> meshes, Map<String, PhongMaterial> materials) {
+	}
+
+	private MeshFile() {
+	}
+
+	/**
+	 * @param objURL URL of a Wavefront .obj file
+	 * @return URL of the precompiled version if it exists and, for files, is not older than the .obj file, else
+	 *         {@code null}. Inside a jar, the precompiled version is always used: the build generates it from the
+	 *         packaged .obj file and entry times are not reliable.
+	 */
+	public static URL upToDateBinary(URL objURL) {
+		try {
+			var url = binaryURL(objURL);
+			if ("file".equals(url.getProtocol())) {
+				var binary = Path.of(url.toURI());
+				var source = Path.of(objURL.toURI());
+				if (Files.isRegularFile(binary)
+						&& Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(source)) >= 0) {
+					return url;
+				}
+				return null;
+			}
+			url.openStream().close();
+			return url;
+		} catch (FileNotFoundException x) {
+			return null;
+		} catch (IOException | URISyntaxException x) {
+			throw new Model3DException("Could not check precompiled version of %s: %s", objURL, x.getMessage());
+		}
+	}
+
+	/**
+	 * @param objURL URL of a Wavefront .obj file
+	 * @return URL of the precompiled version (which may not exist)
+	 */
+	public static URL binaryURL(URL objURL) throws IOException {
+		var path = objURL.getPath();
+		return new URL(objURL, binaryName(path.substring(path.lastIndexOf('/') + 1)));
+	}
+
+	/**
+	 * @param objFileName name of a Wavefront .obj file, e.g. "ghost.obj"
+	 * @return name of the precompiled version, e.g. "ghost.mesh"
+	 */
+	public static String binaryName(String objFileName) {
+		int dot = objFileName.lastIndexOf('.');
+		return (dot != -1 ? objFileName.substring(0, dot) : objFileName) + EXTENSION;
+	}
+
+	/**
+	 * Reads a precompiled model. Files are memory-mapped, other resources (e.g. inside a jar) are read into memory.
+	 * 
+	 * @param url URL of the precompiled model
+	 * @return meshes and materials of the model
+	 */
+	public static Content read(URL url) throws IOException {
+		if ("file".equals(url.getProtocol())) {
+			try (var channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+				return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), url);
+			} catch (URISyntaxException x) {
+				throw new IOException(x);
+			}
+		}
+		try (var in = url.openStream()) {
+			return read(ByteBuffer.wrap(in.readAllBytes()), url);
+		}
+	}
+
+	private static Content read(ByteBuffer buffer, URL url) throws IOException {
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a mesh file: " + url);
+			}
+			int meshCount = buffer.getInt();
+			var meshes = new LinkedHashMap<String, TriangleMesh>();
+			for (int i = 0; i < meshCount; ++i) {
+				var name = readString(buffer);
+				var mesh = new TriangleMesh();
+				mesh.getPoints().setAll(readFloats(buffer));
+				mesh.getTexCoords().setAll(readFloats(buffer));
+				mesh.getFaces().setAll(readInts(buffer));
+				mesh.getFaceSmoothingGroups().setAll(readInts(buffer));
+				meshes.put(name, mesh);
+			}
+			int materialCount = buffer.getInt();
+			var materials = new LinkedHashMap<String, PhongMaterial>();
+			for (int i = 0; i < materialCount; ++i) {
+				var name = readString(buffer);
+				var material = new PhongMaterial(readColor(buffer));
+				material.setSpecularColor(readColor(buffer));
+				material.setSpecularPower(buffer.getFloat());
+				var diffuseMap = readString(buffer);
+				if (!diffuseMap.isEmpty()) {
+					material.setDiffuseMap(new Image(new URL(url, diffuseMap).toExternalForm()));
+				}
+				materials.put(name, material);
+			}
+			return new Content(meshes, materials);
+		} catch (RuntimeException x) {
+			// buffer underflow, negative array size etc.
+			throw new IOException("Corrupt mesh file: " + url, x);
+		}
+	}
+
+	/**
+	 * Writes a precompiled model.
+	 * 
+	 * @param file      target file
+	 * @param meshes    meshes by name
+	 * @param materials materials by name
+	 * @param baseURL   URL of the folder containing the model, diffuse maps are stored relative to it
+	 */
+	public static void write(Path file, Map<String, TriangleMesh> meshes, Map<String, PhongMaterial> materials,
+			String baseURL) throws IOException {
+		int size = 12;
+		for (var entry : meshes.entrySet()) {
+			var mesh = entry.getValue();
+			size += stringSize(entry.getKey()) + 16 + 4 * (mesh.getPoints().size() + mesh.getTexCoords().size()
+					+ mesh.getFaces().size() + mesh.getFaceSmoothingGroups().size());
+		}
+		var diffuseMaps = new LinkedHashMap<String, String>();
+		for (var entry : materials.entrySet()) {
+			var image = entry.getValue().getDiffuseMap();
+			var diffuseMap = "";
+			if (image != null && image.getUrl() != null) {
+				diffuseMap = image.getUrl().startsWith(baseURL) ? image.getUrl().substring(baseURL.length()) : image.getUrl();
+			}
+			diffuseMaps.put(entry.getKey(), diffuseMap);
+			size += stringSize(entry.getKey()) + 36 + stringSize(diffuseMap);
+		}
+
+		var buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC);
+		buffer.putInt(meshes.size());
+		for (var entry : meshes.entrySet()) {
+			var mesh = entry.getValue();
+			writeString(buffer, entry.getKey());
+			writeFloats(buffer, mesh.getPoints().toArray(null));
+			writeFloats(buffer, mesh.getTexCoords().toArray(null));
+			writeInts(buffer, mesh.getFaces().toArray(null));
+			writeInts(buffer, mesh.getFaceSmoothingGroups().toArray(null));
+		}
+		buffer.putInt(materials.size());
+		for (var entry : materials.entrySet()) {
+			var material = entry.getValue();
+			writeString(buffer, entry.getKey());
+			writeColor(buffer, material.getDiffuseColor());
+			writeColor(buffer, material.getSpecularColor());
+			buffer.putFloat((float) material.getSpecularPower());
+			writeString(buffer, diffuseMaps.get(entry.getKey()));
+		}
+		buffer.flip();
+
+		var temp = Files.createTempFile(file.toAbsolutePath().getParent(), "mesh", ".tmp");
+		try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static float[] readFloats(ByteBuffer buffer) {
+		var array = new float[buffer.getInt()];
+		buffer.asFloatBuffer().get(array);
+		buffer.position(buffer.position() + 4 * array.length);
+		return array;
+	}
+
+	private static int[] readInts(ByteBuffer buffer) {
+		var array = new int[buffer.getInt()];
+		buffer.asIntBuffer().get(array);
+		buffer.position(buffer.position() + 4 * array.length);
+		return array;
+	}
+
+	private static Color readColor(ByteBuffer buffer) {
+		return Color.color(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		var bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		buffer.position(buffer.position() + padding(bytes.length));
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeFloats(ByteBuffer buffer, float[] array) {
+		buffer.putInt(array.length);
+		buffer.asFloatBuffer().put(array);
+		buffer.position(buffer.position() + 4 * array.length);
+	}
+
+	private static void writeInts(ByteBuffer buffer, int[] array) {
+		buffer.putInt(array.length);
+		buffer.asIntBuffer().put(array);
+		buffer.position(buffer.position() + 4 * array.length);
+	}
+
+	private static void writeColor(ByteBuffer buffer, Color color) {
+		var c = color != null ? color : Color.WHITE;
+		buffer.putFloat((float) c.getRed());
+		buffer.putFloat((float) c.getGreen());
+		buffer.putFloat((float) c.getBlue());
+		buffer.putFloat((float) c.getOpacity());
+	}
+
+	private static void writeString(ByteBuffer buffer, String s) {
+		var bytes = s.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+		buffer.position(buffer.position() + padding(bytes.length));
+	}
+
+	private static int stringSize(String s) {
+		int length = s.getBytes(StandardCharsets.UTF_8).length;
+		return 4 + length + padding(length);
+	}
+
+	private static int padding(int length) {
+		return (4 - length % 4) % 4;
+	}
+}
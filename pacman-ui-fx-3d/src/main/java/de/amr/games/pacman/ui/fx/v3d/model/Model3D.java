@@ -20,7 +20,9 @@ import javafx.scene.transform.Translate;
 /**
  * A 3D-model imported from a Wavefront .obj file.
  * <p>
- * Uses the importer code from Oracle's JFX3DViewer sample project.
+ * Uses the importer code from Oracle's JFX3DViewer sample project. If a precompiled {@link MeshFile mesh file} exists
+ * next to the .obj file and is up to date (see {@link MeshFile#upToDateBinary(URL)}), the model is loaded from that
+ * file instead.
  * 
  * @author Armin Reichert
  */
@@ -67,8 +69,18 @@ public class Model3D {
 		var urlString = url.toExternalForm();
 		int lastSlash = urlString.lastIndexOf('/');
 		var fileName = urlString.substring(lastSlash + 1);
-		Logger.trace("*** Load 3D model from file '{}'. URL: {}", fileName, url);
 		try {
+			var binaryURL = MeshFile.upToDateBinary(url);
+			if (binaryURL != null) {
+				Logger.trace("*** Load precompiled 3D model for file '{}'. URL: {}", fileName, binaryURL);
+				var content = MeshFile.read(binaryURL);
+				content.meshes().values().forEach(ObjImporter::validateTriangleMesh);
+				meshes.putAll(content.meshes());
+				materials.putAll(content.materials());
+				Logger.trace(contentReport());
+				return;
+			}
+			Logger.trace("*** Load 3D model from file '{}'. URL: {}", fileName, url);
 			var importer = new ObjImporter(url.toExternalForm());
 			for (var meshName : importer.getMeshNames()) {
 				var mesh = importer.getMesh(meshName);
@@ -413,6 +413,16 @@ public class IntegerArrayList extends AbstractList<Integer>
 		return true;
 	}
 
+	/**
+	 * Appends the specified value to the end of this list without boxing it.
+	 *
+	 * @param e value to be appended to this list
+	 */
+	public void addInt(int e) {
+		ensureCapacityInternal(size + 1); // Increments modCount!!
+		elementData[size++] = e;
+	}
+
 	/**
 	 * Inserts the specified element at the specified position in this list. Shifts the element currently at that position
 	 * (if any) and any subsequent elements to the right (adds one to their indices).
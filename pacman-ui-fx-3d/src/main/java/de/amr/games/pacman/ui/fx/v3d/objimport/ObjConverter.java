@@ -0,0 +1,104 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.v3d.objimport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.ui.fx.v3d.model.MeshFile;
+import javafx.application.Platform;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.TriangleMesh;
+
+/**
+ * Converts Wavefront .obj files (and their .mtl material files) into precompiled {@link MeshFile mesh files} stored
+ * next to the source files. The build runs it on the bundled models in the classes folder, so the packaged jar always
+ * contains up-to-date mesh files.
+ * <p>
+ * Usage: {@code ObjConverter <path to .obj file>...}
+ * <p>
+ * If the JavaFX platform (needed for the texture images) cannot be started, e.g. on a build machine without display,
+ * nothing is converted and the models are parsed from the .obj files at runtime.
+ * 
+ * @author Armin Reichert
+ */
+public class ObjConverter {
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			Logger.error("Missing .obj file path(s)");
+			return;
+		}
+		try {
+			var latch = new CountDownLatch(1);
+			Platform.startup(latch::countDown);
+			latch.await();
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (RuntimeException x) {
+			Logger.warn("JavaFX platform not available, models are not precompiled: {}", x.getMessage());
+			return;
+		}
+		try {
+			for (var arg : args) {
+				try {
+					convert(Path.of(arg));
+				} catch (IOException | RuntimeException x) {
+					Logger.error(x, "Could not convert {}", arg);
+				}
+			}
+		} finally {
+			Platform.exit();
+		}
+	}
+
+	/**
+	 * @param objFile path of a Wavefront .obj file
+	 * @return path of the created mesh file
+	 */
+	public static Path convert(Path objFile) throws IOException {
+		var objURL = objFile.toAbsolutePath().toUri().toURL();
+		var importer = new ObjImporter(objURL.toExternalForm());
+		var meshes = new HashMap<String, TriangleMesh>();
+		for (var meshName : importer.getMeshNames()) {
+			meshes.put(meshName, importer.getMesh(meshName));
+		}
+		var materials = new HashMap<String, PhongMaterial>();
+		for (var materialMap : importer.materialLibrary()) {
+			for (var entry : materialMap.entrySet()) {
+				materials.put(entry.getKey(), (PhongMaterial) entry.getValue());
+			}
+		}
+		var baseURL = objURL.toExternalForm().substring(0, objURL.toExternalForm().lastIndexOf('/') + 1);
+		var meshFile = objFile.resolveSibling(MeshFile.binaryName(objFile.getFileName().toString()));
+		MeshFile.write(meshFile, meshes, materials, baseURL);
+		Logger.info("{} converted to {} ({} meshes, {} materials)", objFile, meshFile, meshes.size(), materials.size());
+		return meshFile;
+	}
+}
@@ -36,7 +36,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +66,33 @@ import javafx.scene.shape.TriangleMesh;
  */
 public class ObjImporter {
 
+	/**
+	 * Parser used for reading the .obj file. Both produce identical meshes.
+	 */
+	public enum Parser {
+		/** Byte-level tokenizer, parses numbers in place without creating strings or arrays per line. */
+		TOKENIZER,
+		/** Original line-based parser using regular expressions, kept for comparison. */
+		LINE_READER
+	}
+
+	private static final byte[] DIRECTIVE_O = bytes("o ");
+	private static final byte[] DIRECTIVE_G = bytes("g ");
+	private static final byte[] LINE_G = bytes("g");
+	private static final byte[] DIRECTIVE_V = bytes("v ");
+	private static final byte[] DIRECTIVE_VT = bytes("vt ");
+	private static final byte[] DIRECTIVE_F = bytes("f ");
+	private static final byte[] DIRECTIVE_S = bytes("s ");
+	private static final byte[] DIRECTIVE_MTLLIB = bytes("mtllib ");
+	private static final byte[] DIRECTIVE_USEMTL = bytes("usemtl ");
+	private static final byte[] DIRECTIVE_VN = bytes("vn ");
+	private static final byte[] COMMENT = bytes("#");
+	private static final byte[] OFF = bytes("off");
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
 	public static void validateTree(Node node) {
 		if (node instanceof MeshView meshView) {
 			validateTriangleMesh((TriangleMesh) meshView.getMesh());
@@ -116,13 +146,36 @@ public class ObjImporter {
 	private int facesNormalStart = 0;
 	private int smoothingGroupsStart = 0;
 
+	// reused by the tokenizer for each line
+	private final float[] lineFloats = new float[3];
+	private final int[] faceVertexParts = new int[3];
+	private int[] faceVertexIndices = new int[16];
+	private int[] faceUVIndices = new int[16];
+	private int[] faceNormalIndices = new int[16];
+
 	public ObjImporter(String objFileUrl) throws IOException {
+		this(objFileUrl, Parser.TOKENIZER);
+	}
+
+	public ObjImporter(String objFileUrl, Parser parser) throws IOException {
 		this.objFileUrl = objFileUrl;
-		parse(new URL(objFileUrl).openStream());
+		try (var in = new URL(objFileUrl).openStream()) {
+			parse(in, parser);
+		}
 	}
 
 	public ObjImporter(InputStream inputStream) throws IOException {
-		parse(inputStream);
+		parse(inputStream, Parser.TOKENIZER);
+	}
+
+	/**
+	 * @param inputStream stream with .obj file content
+	 * @param objFileUrl  URL of the .obj file, used for locating material libraries
+	 * @param parser      parser to use
+	 */
+	public ObjImporter(InputStream inputStream, String objFileUrl, Parser parser) throws IOException {
+		this.objFileUrl = objFileUrl;
+		parse(inputStream, parser);
 	}
 
 	public Set<String> getMeshNames() {
@@ -161,7 +214,149 @@ public class ObjImporter {
 		}
 	}
 
-	private void parse(InputStream inputStream) throws IOException {
+	private void parse(InputStream inputStream, Parser parser) throws IOException {
+		switch (parser) {
+		case TOKENIZER -> parseTokens(ByteBuffer.wrap(inputStream.readAllBytes()));
+		case LINE_READER -> parseLines(inputStream);
+		default -> throw new IllegalArgumentException("Unknown parser: " + parser);
+		}
+		Logger.trace("Model loaded: {} vertices, {} uvs, {} faces, {} smoothing groups", vertexes.size() / 3,
+				uvs.size() / 2, faces.size() / 6, smoothingGroups.size());
+	}
+
+	/*
+	 * Same directives and same error handling as the line-based parser, but numbers are parsed in place.
+	 */
+	private void parseTokens(ByteBuffer buffer) {
+		var tokens = new ObjTokenizer(buffer);
+		int currentSmoothGroup = 0;
+		String key = "default";
+
+		while (tokens.nextLine()) {
+			try {
+				if (tokens.directive(DIRECTIVE_O)) {
+					addMesh(key);
+					key = tokens.rest();
+					Logger.trace("Object name: {}", key);
+				} else if (tokens.directive(DIRECTIVE_G) || tokens.lineEquals(LINE_G)) {
+					addMesh(key);
+					key = tokens.lineLength() > 2 ? tokens.rest() : "default";
+					Logger.trace("Group name: {}", key);
+				} else if (tokens.directive(DIRECTIVE_V)) {
+					lineFloats[0] = tokens.nextFloat();
+					lineFloats[1] = tokens.nextFloat();
+					lineFloats[2] = tokens.nextFloat();
+					vertexes.addAll(lineFloats, 0, 3);
+				} else if (tokens.directive(DIRECTIVE_VT)) {
+					float u = tokens.nextFloat();
+					float v = tokens.nextFloat();
+					lineFloats[0] = u;
+					lineFloats[1] = 1 - v;
+					uvs.addAll(lineFloats, 0, 2);
+				} else if (tokens.directive(DIRECTIVE_F)) {
+					parseFace(tokens, currentSmoothGroup);
+				} else if (tokens.directive(DIRECTIVE_S)) {
+					currentSmoothGroup = tokens.restEquals(OFF) ? 0 : tokens.restAsInt();
+				} else if (tokens.directive(DIRECTIVE_MTLLIB)) {
+					for (String filename : tokens.rest().trim().split("\\s+")) {
+						MtlReader mtlReader = new MtlReader(filename, objFileUrl);
+						materialLibrary.add(mtlReader.getMaterials());
+					}
+				} else if (tokens.directive(DIRECTIVE_USEMTL)) {
+					addMesh(key);
+				} else if (tokens.lineIsEmpty() || tokens.lineStartsWith(COMMENT)) {
+					// comments and empty lines are ignored
+				} else if (tokens.directive(DIRECTIVE_VN)) {
+					lineFloats[0] = tokens.nextFloat();
+					lineFloats[1] = tokens.nextFloat();
+					lineFloats[2] = tokens.nextFloat();
+					normals.addAll(lineFloats, 0, 3);
+				} else {
+					Logger.trace("Line skipped: {}", tokens.line());
+				}
+			} catch (Exception ex) {
+				Logger.error("Failed to parse line: {}", tokens.line());
+			}
+		}
+		addMesh(key);
+	}
+
+	/*
+	 * Same index handling as the line-based parser. A face with a vertex token consisting only of slashes is skipped as a
+	 * whole.
+	 */
+	private void parseFace(ObjTokenizer tokens, int currentSmoothGroup) {
+		int n = 0;
+		boolean uvProvided = true;
+		boolean normalProvided = true;
+		while (tokens.hasMoreTokens()) {
+			int parts = tokens.nextFaceVertex(faceVertexParts);
+			if (parts == 0) {
+				throw new NumberFormatException("Missing vertex index");
+			}
+			if (parts < 2 || tokens.isEmptyPart(1)) {
+				uvProvided = false;
+			}
+			if (parts < 3 || tokens.isEmptyPart(2)) {
+				normalProvided = false;
+			}
+			if (n == faceVertexIndices.length) {
+				faceVertexIndices = Arrays.copyOf(faceVertexIndices, 2 * n);
+				faceUVIndices = Arrays.copyOf(faceUVIndices, 2 * n);
+				faceNormalIndices = Arrays.copyOf(faceNormalIndices, 2 * n);
+			}
+			faceVertexIndices[n] = faceVertexParts[0];
+			faceUVIndices[n] = parts > 1 ? faceVertexParts[1] : 0;
+			faceNormalIndices[n] = parts > 2 ? faceVertexParts[2] : 0;
+			++n;
+		}
+		if (n == 0) {
+			return;
+		}
+		int v1 = vertexIndex(faceVertexIndices[0]);
+		int uv1 = -1;
+		int n1 = -1;
+		if (uvProvided) {
+			uv1 = uvIndex(faceUVIndices[0]);
+			if (uv1 < 0) {
+				uvProvided = false;
+			}
+		}
+		if (normalProvided) {
+			n1 = normalIndex(faceNormalIndices[0]);
+			if (n1 < 0) {
+				normalProvided = false;
+			}
+		}
+		for (int i = 1; i < n - 1; i++) {
+			int v2 = vertexIndex(faceVertexIndices[i]);
+			int v3 = vertexIndex(faceVertexIndices[i + 1]);
+			int uv2 = -1;
+			int uv3 = -1;
+			int n2 = -1;
+			int n3 = -1;
+			if (uvProvided) {
+				uv2 = uvIndex(faceUVIndices[i]);
+				uv3 = uvIndex(faceUVIndices[i + 1]);
+			}
+			if (normalProvided) {
+				n2 = normalIndex(faceNormalIndices[i]);
+				n3 = normalIndex(faceNormalIndices[i + 1]);
+			}
+			faces.addInt(v1);
+			faces.addInt(uv1);
+			faces.addInt(v2);
+			faces.addInt(uv2);
+			faces.addInt(v3);
+			faces.addInt(uv3);
+			faceNormals.addInt(n1);
+			faceNormals.addInt(n2);
+			faceNormals.addInt(n3);
+			smoothingGroups.addInt(currentSmoothGroup);
+		}
+	}
+
+	private void parseLines(InputStream inputStream) throws IOException {
 		var br = new BufferedReader(new InputStreamReader(inputStream));
 		String line;
 		int currentSmoothGroup = 0;
@@ -359,9 +554,6 @@ public class ObjImporter {
 		}
 
 		addMesh(key);
-
-		Logger.trace("Model loaded: {} vertices, {} uvs, {} faces, {} smoothing groups", vertexes.size() / 3,
-				uvs.size() / 2, faces.size() / 6, smoothingGroups.size());
 	}
 
 	private void addMesh(String key) {
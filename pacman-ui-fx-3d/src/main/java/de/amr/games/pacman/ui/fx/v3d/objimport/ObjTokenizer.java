@@ -0,0 +1,360 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.v3d.objimport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits the bytes of a Wavefront .obj file into lines and whitespace-separated tokens and parses numbers in place,
+ * without creating strings or arrays. Line terminators are the same as for {@link java.io.BufferedReader#readLine()},
+ * whitespace is the same as for the regular expression {@code \s}.
+ * <p>
+ * Floats are computed exactly from decimal mantissas with at most 15 digits and exponents up to 22 (the only roundings
+ * are the correctly rounded double operation and the conversion to float, which is exact unless the double lies on a
+ * float midpoint). All other numbers are passed to {@link Float#parseFloat(String)}, so the results are always
+ * identical to the line-based parser.
+ * 
+ * @author Armin Reichert
+ */
+class ObjTokenizer {
+
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13,
+			1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	private final ByteBuffer buffer;
+	private final int limit;
+	private int lineStart;
+	private int lineEnd;
+	private int nextLineStart;
+	private int pos;
+	private int emptyParts;
+
+	ObjTokenizer(ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.limit = buffer.limit();
+		this.nextLineStart = buffer.position();
+	}
+
+	/**
+	 * Advances to the next line.
+	 * 
+	 * @return {@code false} if the end of the input has been reached
+	 */
+	boolean nextLine() {
+		if (nextLineStart >= limit) {
+			return false;
+		}
+		lineStart = nextLineStart;
+		pos = lineStart;
+		int i = lineStart;
+		while (i < limit && buffer.get(i) != '\n' && buffer.get(i) != '\r') {
+			++i;
+		}
+		lineEnd = i;
+		if (i < limit && buffer.get(i) == '\r' && i + 1 < limit && buffer.get(i + 1) == '\n') {
+			++i;
+		}
+		nextLineStart = i + 1;
+		return true;
+	}
+
+	boolean lineIsEmpty() {
+		return lineEnd == lineStart;
+	}
+
+	int lineLength() {
+		return lineEnd - lineStart;
+	}
+
+	boolean lineStartsWith(byte[] prefix) {
+		if (lineEnd - lineStart < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; ++i) {
+			if (buffer.get(lineStart + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	boolean lineEquals(byte[] bytes) {
+		return lineEnd - lineStart == bytes.length && lineStartsWith(bytes);
+	}
+
+	/**
+	 * If the line starts with the given directive (including the separating space), the token position is moved behind
+	 * it.
+	 * 
+	 * @param directive directive, e.g. "v "
+	 * @return if the line starts with the directive
+	 */
+	boolean directive(byte[] directive) {
+		if (lineStartsWith(directive)) {
+			pos = lineStart + directive.length;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return current line as string, for messages
+	 */
+	String line() {
+		return text(lineStart, lineEnd);
+	}
+
+	/**
+	 * @return rest of the line from the current position as string (not trimmed)
+	 */
+	String rest() {
+		return text(pos, lineEnd);
+	}
+
+	/**
+	 * @param bytes text
+	 * @return if the rest of the line equals the given text
+	 */
+	boolean restEquals(byte[] bytes) {
+		if (lineEnd - pos != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; ++i) {
+			if (buffer.get(pos + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return rest of the line parsed as integer like {@link Integer#parseInt(String)}
+	 */
+	int restAsInt() {
+		int value = parseInt(pos, lineEnd);
+		pos = lineEnd;
+		return value;
+	}
+
+	/**
+	 * @return if there is another token in the current line
+	 */
+	boolean hasMoreTokens() {
+		pos = skipWhitespace(pos);
+		return pos < lineEnd;
+	}
+
+	/**
+	 * @return next token parsed like {@link Float#parseFloat(String)}
+	 * @throws NumberFormatException if there is no next token or it is not a number
+	 */
+	float nextFloat() {
+		int start = skipWhitespace(pos);
+		int end = tokenEnd(start);
+		pos = end;
+		if (start == end) {
+			throw new NumberFormatException("Missing number in line: " + line());
+		}
+		return parseFloat(start, end);
+	}
+
+	/**
+	 * Parses the next face vertex token ("v", "v/vt", "v//vn", "v/vt/vn") like {@code token.split("/")} followed by
+	 * {@link Integer#parseInt(String)} for each part. Empty parts have value 0 and can be queried using
+	 * {@link #isEmptyPart(int)}.
+	 * 
+	 * @param indices receives the first three parts
+	 * @return number of parts, trailing empty parts not counted
+	 */
+	int nextFaceVertex(int[] indices) {
+		int start = skipWhitespace(pos);
+		int end = tokenEnd(start);
+		pos = end;
+		int count = 0;
+		int part = 0;
+		int partStart = start;
+		emptyParts = 0;
+		for (int i = start; i <= end; ++i) {
+			if (i == end || buffer.get(i) == '/') {
+				int value = 0;
+				if (i == partStart) {
+					emptyParts |= 1 << Math.min(part, 31);
+				} else {
+					value = parseInt(partStart, i);
+					count = part + 1;
+				}
+				if (part < indices.length) {
+					indices[part] = value;
+				}
+				++part;
+				partStart = i + 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @param part part index (0-2) of the last face vertex
+	 * @return if that part was empty
+	 */
+	boolean isEmptyPart(int part) {
+		return (emptyParts & (1 << part)) != 0;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == 0x0B || b == '\f';
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private int skipWhitespace(int i) {
+		while (i < lineEnd && isWhitespace(buffer.get(i))) {
+			++i;
+		}
+		return i;
+	}
+
+	private int tokenEnd(int i) {
+		while (i < lineEnd && !isWhitespace(buffer.get(i))) {
+			++i;
+		}
+		return i;
+	}
+
+	private String text(int start, int end) {
+		var bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private int parseInt(int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			++i;
+		}
+		if (i == end) {
+			throw new NumberFormatException("Not an integer: " + text(start, end));
+		}
+		// accumulate negatively to cover Integer.MIN_VALUE, as Integer.parseInt does
+		int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int value = 0;
+		for (; i < end; ++i) {
+			byte b = buffer.get(i);
+			if (!isDigit(b) || value < limit / 10) {
+				throw new NumberFormatException("Not an integer: " + text(start, end));
+			}
+			value *= 10;
+			if (value < limit + (b - '0')) {
+				throw new NumberFormatException("Not an integer: " + text(start, end));
+			}
+			value -= b - '0';
+		}
+		return negative ? value : -value;
+	}
+
+	private float parseFloat(int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (buffer.get(i) == '-' || buffer.get(i) == '+') {
+			negative = buffer.get(i) == '-';
+			++i;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		for (; i < end && isDigit(buffer.get(i)); ++i) {
+			mantissa = 10 * mantissa + (buffer.get(i) - '0');
+			++digits;
+			if (mantissa != 0) {
+				++significantDigits;
+			}
+		}
+		if (i < end && buffer.get(i) == '.') {
+			for (++i; i < end && isDigit(buffer.get(i)); ++i) {
+				mantissa = 10 * mantissa + (buffer.get(i) - '0');
+				++digits;
+				if (mantissa != 0) {
+					++significantDigits;
+				}
+				--exponent;
+			}
+		}
+		if (digits > 0 && i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+			++i;
+			boolean negativeExponent = false;
+			if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+				negativeExponent = buffer.get(i) == '-';
+				++i;
+			}
+			int exponentDigits = 0;
+			int explicitExponent = 0;
+			for (; i < end && isDigit(buffer.get(i)); ++i) {
+				if (explicitExponent < 10_000) {
+					explicitExponent = 10 * explicitExponent + (buffer.get(i) - '0');
+				}
+				++exponentDigits;
+			}
+			if (exponentDigits == 0) {
+				return Float.parseFloat(text(start, end));
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (digits == 0 || i != end || significantDigits > MAX_EXACT_DIGITS) {
+			// "NaN", "Infinity", hexadecimal, type suffix, too many digits or no number at all
+			return Float.parseFloat(text(start, end));
+		}
+		if (mantissa == 0) {
+			return negative ? -0f : 0f;
+		}
+		double value;
+		if (exponent >= 0 && exponent < POW10.length) {
+			value = mantissa * POW10[exponent];
+		} else if (exponent < 0 && -exponent < POW10.length) {
+			value = mantissa / POW10[-exponent];
+		} else {
+			return Float.parseFloat(text(start, end));
+		}
+		if (value < Float.MIN_NORMAL || value > Float.MAX_VALUE || isFloatMidpoint(value)) {
+			return Float.parseFloat(text(start, end));
+		}
+		float result = (float) value;
+		return negative ? -result : result;
+	}
+
+	/*
+	 * A double that is not exactly halfway between two floats rounds to the same float as the decimal value it was
+	 * rounded from.
+	 */
+	private static boolean isFloatMidpoint(double value) {
+		return (Double.doubleToRawLongBits(value) & 0x1FFF_FFFFL) == 0x1000_0000L;
+	}
+}
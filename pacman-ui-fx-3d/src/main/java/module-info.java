@@ -18,6 +18,7 @@
  */
 module de.amr.games.pacman.ui.fx3d {
 
+	requires java.management;
 	requires javafx.graphics;
 	requires transitive javafx.controls;
 	requires transitive javafx.media;
@@ -28,6 +29,7 @@ module de.amr.games.pacman.ui.fx3d {
 	exports de.amr.games.pacman.ui.fx.v3d.app;
 	exports de.amr.games.pacman.ui.fx.v3d.dashboard;
 	exports de.amr.games.pacman.ui.fx.v3d.model;
+	exports de.amr.games.pacman.ui.fx.v3d.objimport;
 	exports de.amr.games.pacman.ui.fx.v3d.animation;
 	exports de.amr.games.pacman.ui.fx.v3d.entity;
 	exports de.amr.games.pacman.ui.fx.v3d.scene;
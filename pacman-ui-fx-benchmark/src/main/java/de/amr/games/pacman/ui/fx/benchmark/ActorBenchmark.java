@@ -0,0 +1,96 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.ui.fx.rendering2d.Rendering2D;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Draws Pac-Man and the ghosts.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class ActorBenchmark {
+
+	@Param({ "PACMAN", "MS_PACMAN", "PACMAN_TEST" })
+	public RendererChoice renderer;
+
+	private Rendering2D r;
+	private GameLevel level;
+	private OffscreenCanvas canvas;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		HeadlessFx.startup();
+		HeadlessFx.run(() -> {
+			r = renderer.createRenderer();
+			level = HeadlessFx.createHuntingGame(renderer.variant(), r).game().level().orElseThrow();
+			canvas = new OffscreenCanvas();
+		});
+	}
+
+	@Benchmark
+	public WritableImage drawPac() {
+		return HeadlessFx.call(() -> {
+			canvas.clear();
+			r.drawPac(canvas.g(), level.pac());
+			return canvas.snapshot();
+		});
+	}
+
+	@Benchmark
+	public WritableImage drawGhosts() {
+		return HeadlessFx.call(() -> {
+			canvas.clear();
+			r.drawGhost(canvas.g(), level.ghost(GameModel.ORANGE_GHOST));
+			r.drawGhost(canvas.g(), level.ghost(GameModel.CYAN_GHOST));
+			r.drawGhost(canvas.g(), level.ghost(GameModel.PINK_GHOST));
+			r.drawGhost(canvas.g(), level.ghost(GameModel.RED_GHOST));
+			return canvas.snapshot();
+		});
+	}
+}
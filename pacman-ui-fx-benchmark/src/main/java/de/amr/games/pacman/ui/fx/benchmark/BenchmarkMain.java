@@ -0,0 +1,54 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the rendering benchmarks and writes the results as JSON to <code>target/jmh-result.json</code>. Command-line
+ * arguments are passed to JMH.
+ * 
+ * @author Armin Reichert
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		var commandLineOptions = new CommandLineOptions(args);
+		var optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+		if (commandLineOptions.getIncludes().isEmpty()) {
+			optionsBuilder.include(BenchmarkMain.class.getPackageName() + ".*Benchmark");
+		}
+		if (commandLineOptions.getResultFormat().hasValue()) {
+			optionsBuilder.resultFormat(commandLineOptions.getResultFormat().get());
+		} else {
+			optionsBuilder.resultFormat(ResultFormatType.JSON).result("target/jmh-result.json");
+		}
+		new Runner(optionsBuilder.build()).run();
+	}
+}
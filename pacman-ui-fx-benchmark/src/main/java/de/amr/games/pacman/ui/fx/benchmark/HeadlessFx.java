@@ -0,0 +1,117 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.app.AppRes;
+import de.amr.games.pacman.ui.fx.app.HeadlessSimulation;
+import de.amr.games.pacman.ui.fx.rendering2d.Rendering2D;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX platform without display (Monocle headless, software rendering) and runs code on the application
+ * thread.
+ * 
+ * @author Armin Reichert
+ */
+public class HeadlessFx {
+
+	private static boolean started;
+
+	private HeadlessFx() {
+	}
+
+	public static synchronized void startup() {
+		if (started) {
+			return;
+		}
+		System.setProperty("glass.platform", "Monocle");
+		System.setProperty("monocle.platform", "Headless");
+		System.setProperty("prism.order", "sw");
+		var latch = new CountDownLatch(1);
+		Platform.startup(latch::countDown);
+		try {
+			latch.await();
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(x);
+		}
+		run(AppRes::load);
+		started = true;
+	}
+
+	/**
+	 * Runs the given code on the JavaFX application thread and waits for its result.
+	 * 
+	 * @param code code to run
+	 * @return result of the code
+	 */
+	public static <T> T call(Callable<T> code) {
+		var task = new FutureTask<>(code);
+		Platform.runLater(task);
+		try {
+			return task.get();
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(x);
+		} catch (ExecutionException x) {
+			throw new IllegalStateException(x.getCause());
+		}
+	}
+
+	public static void run(Runnable code) {
+		call(() -> {
+			code.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Creates a game controller, lets the autopilot start a game and ticks until the hunting phase of the first level is
+	 * reached. Pac-Man, ghost and world animations are created using the given renderer.
+	 * 
+	 * @param variant game variant
+	 * @param r       renderer used for creating the animations
+	 * @return game controller in state {@link GameState#HUNTING}
+	 */
+	public static GameController createHuntingGame(GameVariant variant, Rendering2D r) {
+		var simulation = new HeadlessSimulation(variant);
+		simulation.start();
+		while (simulation.gameController().state() != GameState.HUNTING) {
+			simulation.tick();
+		}
+		var level = simulation.gameController().game().level().orElseThrow();
+		level.pac().setAnimations(r.createPacAnimations(level.pac()));
+		level.ghosts().forEach(ghost -> ghost.setAnimations(r.createGhostAnimations(ghost)));
+		level.world().setAnimations(r.createWorldAnimations(level.world()));
+		return simulation.gameController();
+	}
+}
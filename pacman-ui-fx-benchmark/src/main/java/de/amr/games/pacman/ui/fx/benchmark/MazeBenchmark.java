@@ -0,0 +1,94 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import static de.amr.games.pacman.lib.Globals.TS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.model.world.World;
+import de.amr.games.pacman.ui.fx.rendering2d.Rendering2D;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Draws the maze with different amounts of eaten food.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class MazeBenchmark {
+
+	@Param({ "PACMAN", "MS_PACMAN", "PACMAN_TEST" })
+	public RendererChoice renderer;
+
+	@Param({ "0", "50", "100" })
+	public int foodEatenPercent;
+
+	private Rendering2D r;
+	private World world;
+	private int mazeNumber;
+	private OffscreenCanvas canvas;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		HeadlessFx.startup();
+		HeadlessFx.run(() -> {
+			r = renderer.createRenderer();
+			var game = HeadlessFx.createHuntingGame(renderer.variant(), r).game();
+			var level = game.level().orElseThrow();
+			world = level.world();
+			mazeNumber = game.mazeNumber(level.number());
+			var foodTiles = world.tiles().filter(world::containsFood).toList();
+			foodTiles.stream().limit(foodTiles.size() * foodEatenPercent / 100).forEach(world::removeFood);
+			canvas = new OffscreenCanvas();
+		});
+	}
+
+	@Benchmark
+	public WritableImage drawMaze() {
+		return HeadlessFx.call(() -> {
+			canvas.clear();
+			r.drawMaze(canvas.g(), 0, TS * (3), mazeNumber, world);
+			return canvas.snapshot();
+		});
+	}
+}
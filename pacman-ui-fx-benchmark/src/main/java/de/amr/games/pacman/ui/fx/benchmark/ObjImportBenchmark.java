@@ -0,0 +1,107 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.ui.fx.v3d.app.AppRes3d;
+import de.amr.games.pacman.ui.fx.v3d.objimport.ObjImporter;
+import de.amr.games.pacman.ui.fx.v3d.objimport.ObjImporter.Parser;
+
+/**
+ * Imports the 3D models with the line-based parser and with the tokenizer. The file content is read once, so the
+ * measured time is parsing, vertex deduplication and smoothing group computation. Before measuring, the setup checks
+ * that both parsers produce identical meshes.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class ObjImportBenchmark {
+
+	@Param({ "pacman.obj", "ghost.obj", "12206_Fruit_v1_L3.obj" })
+	public String model;
+
+	@Param({ "LINE_READER", "TOKENIZER" })
+	public Parser parser;
+
+	private String url;
+	private byte[] content;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		HeadlessFx.startup();
+		url = AppRes3d.Manager.urlFromRelPath("model3D/" + model).toExternalForm();
+		try (var in = AppRes3d.Manager.urlFromRelPath("model3D/" + model).openStream()) {
+			content = in.readAllBytes();
+		}
+		checkIdenticalMeshes(importModel(Parser.LINE_READER), importModel(Parser.TOKENIZER));
+	}
+
+	@Benchmark
+	public ObjImporter importModel() throws IOException {
+		return importModel(parser);
+	}
+
+	private ObjImporter importModel(Parser p) throws IOException {
+		return new ObjImporter(new ByteArrayInputStream(content), url, p);
+	}
+
+	private void checkIdenticalMeshes(ObjImporter expected, ObjImporter actual) {
+		if (!expected.getMeshNames().equals(actual.getMeshNames())) {
+			throw new IllegalStateException("Different mesh names in %s: %s vs. %s".formatted(model,
+					expected.getMeshNames(), actual.getMeshNames()));
+		}
+		for (var name : expected.getMeshNames()) {
+			var m1 = expected.getMesh(name);
+			var m2 = actual.getMesh(name);
+			if (!Arrays.equals(m1.getPoints().toArray(null), m2.getPoints().toArray(null))
+					|| !Arrays.equals(m1.getTexCoords().toArray(null), m2.getTexCoords().toArray(null))
+					|| !Arrays.equals(m1.getFaces().toArray(null), m2.getFaces().toArray(null))
+					|| !Arrays.equals(m1.getFaceSmoothingGroups().toArray(null), m2.getFaceSmoothingGroups().toArray(null))) {
+				throw new IllegalStateException("Mesh '%s' of %s differs between parsers".formatted(name, model));
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import static de.amr.games.pacman.lib.Globals.TS;
+
+import de.amr.games.pacman.model.world.World;
+import de.amr.games.pacman.ui.fx.app.AppRes;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Canvas of the unscaled arcade screen size which is not part of any scene. Taking a snapshot forces the buffered
+ * drawing commands to be rasterized.
+ * 
+ * @author Armin Reichert
+ */
+public class OffscreenCanvas {
+
+	private final Canvas canvas = new Canvas(World.TILES_X * TS, World.TILES_Y * TS);
+	private final WritableImage image = new WritableImage(World.TILES_X * TS, World.TILES_Y * TS);
+
+	public GraphicsContext g() {
+		return canvas.getGraphicsContext2D();
+	}
+
+	public void clear() {
+		g().setFill(AppRes.ArcadeTheme.BLACK);
+		g().fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+	}
+
+	public WritableImage snapshot() {
+		return canvas.snapshot(null, image);
+	}
+}
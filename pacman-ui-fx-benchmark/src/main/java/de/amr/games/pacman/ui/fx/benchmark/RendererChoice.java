@@ -0,0 +1,60 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import java.util.function.Supplier;
+
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.rendering2d.MsPacManGameRenderer;
+import de.amr.games.pacman.ui.fx.rendering2d.PacManGameRenderer;
+import de.amr.games.pacman.ui.fx.rendering2d.PacManTestRenderer;
+import de.amr.games.pacman.ui.fx.rendering2d.Rendering2D;
+
+/**
+ * The 2D renderers under test, used as benchmark parameter.
+ * 
+ * @author Armin Reichert
+ */
+public enum RendererChoice {
+
+	PACMAN(GameVariant.PACMAN, PacManGameRenderer::new), //
+	MS_PACMAN(GameVariant.MS_PACMAN, MsPacManGameRenderer::new), //
+	PACMAN_TEST(GameVariant.PACMAN, PacManTestRenderer::new);
+
+	private final GameVariant variant;
+	private final Supplier<Rendering2D> factory;
+
+	private RendererChoice(GameVariant variant, Supplier<Rendering2D> factory) {
+		this.variant = variant;
+		this.factory = factory;
+	}
+
+	public GameVariant variant() {
+		return variant;
+	}
+
+	public Rendering2D createRenderer() {
+		return factory.get();
+	}
+}
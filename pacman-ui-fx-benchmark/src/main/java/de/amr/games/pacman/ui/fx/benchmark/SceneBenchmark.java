@@ -0,0 +1,108 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.scene2d.GameScene2D;
+import de.amr.games.pacman.ui.fx.scene2d.MsPacManIntroScene;
+import de.amr.games.pacman.ui.fx.scene2d.PacManIntroScene;
+import de.amr.games.pacman.ui.fx.scene2d.PlayScene2D;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Renders complete frames of the 2D play scene and the intro scenes, including the score and credit display.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class SceneBenchmark {
+
+	/** Number of intro ticks after which all ghosts are presented. */
+	private static final int INTRO_TICKS = 600;
+
+	@Param({ "PACMAN", "MS_PACMAN", "PACMAN_TEST" })
+	public RendererChoice renderer;
+
+	private GameScene2D playScene;
+	private GameScene2D introScene;
+	private WritableImage image;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		HeadlessFx.startup();
+		HeadlessFx.run(() -> {
+			var r = renderer.createRenderer();
+			playScene = new PlayScene2D(HeadlessFx.createHuntingGame(renderer.variant(), r));
+			playScene.context().setRendering2D(r);
+			playScene.init();
+
+			var gc = new GameController(renderer.variant());
+			introScene = renderer.variant() == GameVariant.MS_PACMAN ? new MsPacManIntroScene(gc) : new PacManIntroScene(gc);
+			introScene.context().setRendering2D(r);
+			introScene.init();
+			for (int i = 0; i < INTRO_TICKS; ++i) {
+				introScene.update();
+			}
+			image = new WritableImage((int) playScene.fxSubScene().getWidth(), (int) playScene.fxSubScene().getHeight());
+		});
+	}
+
+	private WritableImage renderFrame(GameScene2D scene) {
+		return HeadlessFx.call(() -> {
+			scene.render();
+			return scene.fxSubScene().getRoot().snapshot(null, image);
+		});
+	}
+
+	@Benchmark
+	public WritableImage renderPlayScene() {
+		return renderFrame(playScene);
+	}
+
+	@Benchmark
+	public WritableImage renderIntroScene() {
+		return renderFrame(introScene);
+	}
+}
@@ -28,6 +28,7 @@ import java.util.function.Supplier;
 import de.amr.games.pacman.controller.GameController;
 import de.amr.games.pacman.controller.GameState;
 import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.ui.fx.input.InputRecorder;
 import de.amr.games.pacman.ui.fx.scene.GameScene;
 import de.amr.games.pacman.ui.fx.util.FlashMessageView;
 import de.amr.games.pacman.ui.fx.util.GameLoop;
@@ -36,7 +37,7 @@ import de.amr.games.pacman.ui.fx.util.GameLoop;
  * @author Armin Reichert
  */
 public record ActionContext(GameLoop gameLoop, GameController gameController,
-		Supplier<GameScene> currentGameSceneSupplier, FlashMessageView flashMessageView) {
+		Supplier<GameScene> currentGameSceneSupplier, FlashMessageView flashMessageView, InputRecorder inputRecorder) {
 
 	public GameModel game() {
 		return gameController.game();
@@ -25,11 +25,13 @@ SOFTWARE.
 package de.amr.games.pacman.ui.fx.app;
 
 import static de.amr.games.pacman.controller.GameState.INTRO;
-import static de.amr.games.pacman.lib.Globals.RND;
+
+import java.util.Random;
 
 import de.amr.games.pacman.controller.GameState;
 import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.ui.fx.input.InputEvent;
 import de.amr.games.pacman.ui.fx.util.Ufx;
 import javafx.scene.media.AudioClip;
 
@@ -38,6 +40,9 @@ import javafx.scene.media.AudioClip;
  */
 public class Actions {
 
+	// cosmetic randomness must not consume the game's random generator, otherwise replays diverge
+	private static final Random RND_COSMETIC = new Random();
+
 	private static ActionContext context;
 	private static AudioClip currentVoiceMessage;
 
@@ -46,7 +51,7 @@ public class Actions {
 	}
 
 	public static void playHelpVoiceMessageAfterSeconds(int seconds) {
-		Ufx.afterSeconds(seconds, () -> playVoiceMessage(AppRes.Sounds.VOICE_HELP)).play();
+		Ufx.afterSeconds(seconds, () -> playVoiceMessage(AppRes.Sounds.voiceHelp())).play();
 	}
 
 	public static void playVoiceMessage(AudioClip voiceMessage) {
@@ -74,6 +79,7 @@ public class Actions {
 	public static void startGame() {
 		if (context.game().hasCredit()) {
 			stopVoiceMessage();
+			context.inputRecorder().startSession(context.gameController());
 			context.gameController().startPlaying();
 		}
 	}
@@ -102,6 +108,7 @@ public class Actions {
 
 	public static void addCredit() {
 		GameEvents.setSoundEventsEnabled(true);
+		context.inputRecorder().record(InputEvent.ADD_CREDIT);
 		context.gameController().addCredit();
 	}
 
@@ -131,13 +138,14 @@ public class Actions {
 
 	public static void oneSimulationStep() {
 		if (Env.simulationPausedPy.get()) {
+			context.gameLoop().requestRender();
 			context.gameLoop().executeSingleStep(true);
 		}
 	}
 
 	public static void tenSimulationSteps() {
 		if (Env.simulationPausedPy.get()) {
-			context.gameLoop().executeSteps(10, true);
+			context.gameLoop().executeStepsRenderOnce(10);
 		}
 	}
 
@@ -149,6 +157,15 @@ public class Actions {
 		}
 	}
 
+	public static void toggleTurbo() {
+		Ufx.toggle(Env.simulationTurboPy);
+		if (Env.simulationTurboPy.get()) {
+			showFlashMessageSeconds(0.75, "Turbo x%d".formatted(Env.simulationTurboStepsPy.get()));
+		} else {
+			showFlashMessageSeconds(0.75, "Turbo off");
+		}
+	}
+
 	public static void resetSimulationSpeed() {
 		Env.simulationSpeedPy.set(GameModel.FPS);
 		showFlashMessageSeconds(0.75, "%dHz".formatted(Env.simulationSpeedPy.get()));
@@ -161,19 +178,21 @@ public class Actions {
 	}
 
 	public static void toggleAutopilot() {
+		context.inputRecorder().record(InputEvent.TOGGLE_AUTOPILOT);
 		context.gameController().toggleAutoControlled();
 		var auto = context.gameController().isAutoControlled();
 		String message = AppRes.Texts.message(auto ? "autopilot_on" : "autopilot_off");
 		showFlashMessage(message);
-		playVoiceMessage(auto ? AppRes.Sounds.VOICE_AUTOPILOT_ON : AppRes.Sounds.VOICE_AUTOPILOT_OFF);
+		playVoiceMessage(AppRes.Sounds.voiceAutopilot(auto));
 	}
 
 	public static void toggleImmunity() {
+		context.inputRecorder().record(InputEvent.TOGGLE_IMMUNITY);
 		context.game().setImmune(!context.game().isImmune());
 		var immune = context.game().isImmune();
 		String message = AppRes.Texts.message(immune ? "player_immunity_on" : "player_immunity_off");
 		showFlashMessage(message);
-		playVoiceMessage(immune ? AppRes.Sounds.VOICE_IMMUNITY_ON : AppRes.Sounds.VOICE_IMMUNITY_OFF);
+		playVoiceMessage(AppRes.Sounds.voiceImmunity(immune));
 	}
 
 	public static void startLevelTestMode() {
@@ -184,24 +203,28 @@ public class Actions {
 	}
 
 	public static void cheatAddLives(int numLives) {
+		context.inputRecorder().record(InputEvent.CHEAT_ADD_LIVES, numLives);
 		context.game().setLives(numLives + context.game().lives());
 		showFlashMessage(AppRes.Texts.message("cheat_add_lives", context.game().lives()));
 	}
 
 	public static void cheatEatAllPellets() {
+		context.inputRecorder().record(InputEvent.CHEAT_EAT_ALL);
 		context.gameController().cheatEatAllPellets();
-		if (RND.nextDouble() < 0.1) {
+		if (RND_COSMETIC.nextDouble() < 0.1) {
 			showFlashMessage(AppRes.Texts.pickCheatingMessage());
 		}
 	}
 
 	public static void cheatEnterNextLevel() {
+		context.inputRecorder().record(InputEvent.CHEAT_NEXT_LEVEL);
 		context.gameController().cheatEnterNextLevel();
 	}
 
 	public static void cheatKillAllEatableGhosts() {
+		context.inputRecorder().record(InputEvent.CHEAT_KILL_GHOSTS);
 		context.gameController().cheatKillAllEatableGhosts();
-		if (RND.nextDouble() < 0.1) {
+		if (RND_COSMETIC.nextDouble() < 0.1) {
 			showFlashMessage(AppRes.Texts.pickCheatingMessage());
 		}
 	}
@@ -24,9 +24,14 @@ SOFTWARE.
 
 package de.amr.games.pacman.ui.fx.app;
 
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
 import org.tinylog.Logger;
@@ -39,10 +44,14 @@ import de.amr.games.pacman.ui.fx.rendering2d.MsPacManColoring;
 import de.amr.games.pacman.ui.fx.rendering2d.PacManColoring;
 import de.amr.games.pacman.ui.fx.rendering2d.Spritesheet;
 import de.amr.games.pacman.ui.fx.sound.AudioClipID;
+import de.amr.games.pacman.ui.fx.sound.FxSoundBackend;
 import de.amr.games.pacman.ui.fx.sound.GameSounds;
+import de.amr.games.pacman.ui.fx.sound.PcmSoundBackend;
+import de.amr.games.pacman.ui.fx.sound.SoundBackend;
+import de.amr.games.pacman.ui.fx.util.PaletteSwap;
 import de.amr.games.pacman.ui.fx.util.Picker;
+import de.amr.games.pacman.ui.fx.util.ResourceLoader;
 import de.amr.games.pacman.ui.fx.util.ResourceMgr;
-import de.amr.games.pacman.ui.fx.util.Ufx;
 import javafx.scene.image.Image;
 import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
@@ -57,18 +66,35 @@ public class AppRes {
 			AppRes.class::getResource);
 
 	public static void load() {
-		long start = System.nanoTime();
-		load("graphics", Graphics::load);
-		load("sounds", Sounds::load);
-		load("fonts", Fonts::load);
-		load("texts", Texts::load);
-		Logger.info("Loading application resources took {} seconds.", (System.nanoTime() - start) / 1e9f);
+		load(new Settings(Collections.emptyMap()));
 	}
 
-	private static void load(String section, Runnable loadingCode) {
-		long start = System.nanoTime();
-		loadingCode.run();
-		Logger.info("Loading {} done ({} seconds).", section, (System.nanoTime() - start) / 1e9f);
+	/**
+	 * Loads the application resources. Sounds of the selected game variant are loaded in the background first, the
+	 * other sounds afterwards.
+	 * 
+	 * @param settings application settings (game variant, sound backend)
+	 */
+	public static void load(Settings settings) {
+		try (var loader = new ResourceLoader("application resources")) {
+			load(settings, loader);
+			loader.awaitAll();
+		}
+	}
+
+	/**
+	 * Schedules the loading of the application resources. Call {@link ResourceLoader#awaitAll()} to wait for them.
+	 * 
+	 * @param settings application settings (game variant, sound backend)
+	 * @param loader   resource loader
+	 */
+	public static void load(Settings settings, ResourceLoader loader) {
+		loader.load("graphics (Pac-Man)", Graphics::loadPacMan);
+		var msPacManGraphics = loader.load("graphics (Ms. Pac-Man)", Graphics::loadMsPacMan);
+		loader.load("flashing mazes", Graphics::loadMsPacManFlashingMazes, msPacManGraphics);
+		loader.load("sounds", () -> Sounds.load(settings.variant, Sounds.createBackend(settings.soundBackend)));
+		loader.load("fonts", Fonts::load);
+		loader.load("texts", Texts::load);
 	}
 
 	public static class ArcadeTheme {
@@ -153,6 +179,26 @@ public class AppRes {
 			return Font.font(font.getFamily(), size);
 		}
 
+		private static final Font[] ARCADE_SIZES = new Font[33];
+
+		/**
+		 * @param size font size
+		 * @return arcade font of the given size, integer sizes up to 32 are created only once
+		 */
+		public static Font arcade(double size) {
+			if (size == arcade.getSize()) {
+				return arcade;
+			}
+			int intSize = (int) size;
+			if (intSize != size || intSize < 1 || intSize >= ARCADE_SIZES.length) {
+				return pt(arcade, size);
+			}
+			if (ARCADE_SIZES[intSize] == null) {
+				ARCADE_SIZES[intSize] = pt(arcade, size);
+			}
+			return ARCADE_SIZES[intSize];
+		}
+
 	}
 
 	public static class Texts {
@@ -220,39 +266,68 @@ public class AppRes {
 			public static Image logo;
 			public static Image[] emptyFlashingMaze;
 
-			private static Image emptyMaze(int i) {
-				return spritesheet.subImage(228, 248 * i, 226, 248);
-			}
-
 			private static Image emptyMazeFlashing(int i) {
-				return Ufx.colorsExchanged(emptyMaze(i), Map.of(//
+				var swap = new PaletteSwap(Map.of(//
 						ArcadeTheme.MS_PACMAN_MAZE_COLORS[i].wallBaseColor(), Color.WHITE, //
-						ArcadeTheme.MS_PACMAN_MAZE_COLORS[i].wallTopColor(), Color.BLACK));
+						ArcadeTheme.MS_PACMAN_MAZE_COLORS[i].wallTopColor(), Color.BLACK), false);
+				return swap.apply(spritesheet.source(), 228, 248 * i, 226, 248);
 			}
 		}
 
-		static void load() {
+		static void loadPacMan() {
 			PacManGame.icon = Manager.image("graphics/icons/pacman.png");
 			PacManGame.spritesheet = new Spritesheet(Manager.image("graphics/pacman/sprites.png"), 16);
 			PacManGame.fullMaze = Manager.image("graphics/pacman/maze_full.png");
 			PacManGame.emptyMaze = Manager.image("graphics/pacman/maze_empty.png");
 			PacManGame.flashingMaze = Manager.image("graphics/pacman/maze_empty_flashing.png");
+		}
 
+		static void loadMsPacMan() {
 			MsPacManGame.icon = Manager.image("graphics/icons/mspacman.png");
 			MsPacManGame.spritesheet = new Spritesheet(Manager.image("graphics/mspacman/sprites.png"), 16);
-			MsPacManGame.emptyFlashingMaze = IntStream.range(0, 6).mapToObj(MsPacManGame::emptyMazeFlashing)
-					.toArray(Image[]::new);
 			MsPacManGame.logo = Manager.image("graphics/mspacman/midway.png");
 		}
+
+		// needs the Ms. Pac-Man spritesheet
+		static void loadMsPacManFlashingMazes() {
+			MsPacManGame.emptyFlashingMaze = IntStream.range(0, 6).parallel().mapToObj(MsPacManGame::emptyMazeFlashing)
+					.toArray(Image[]::new);
+		}
 	}
 
 	public static class Sounds {
 
-		public static final AudioClip VOICE_HELP = Manager.audioClip("sound/voice/press-key.mp3");
-		public static final AudioClip VOICE_AUTOPILOT_OFF = Manager.audioClip("sound/voice/autopilot-off.mp3");
-		public static final AudioClip VOICE_AUTOPILOT_ON = Manager.audioClip("sound/voice/autopilot-on.mp3");
-		public static final AudioClip VOICE_IMMUNITY_OFF = Manager.audioClip("sound/voice/immunity-off.mp3");
-		public static final AudioClip VOICE_IMMUNITY_ON = Manager.audioClip("sound/voice/immunity-on.mp3");
+		/** Clips played in the boot and intro scenes and when a game is started, loaded before all other clips. */
+		private static final AudioClipID[] FIRST_CLIPS = { AudioClipID.CREDIT, AudioClipID.GAME_READY,
+				AudioClipID.PACMAN_MUNCH, AudioClipID.SIREN_1 };
+
+		private static final ExecutorService LOADER = Executors.newFixedThreadPool(2, runnable -> {
+			var thread = new Thread(runnable, "AudioLoader");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		private static CompletableFuture<AudioClip> voiceHelp;
+		private static CompletableFuture<AudioClip> voiceAutopilotOff;
+		private static CompletableFuture<AudioClip> voiceAutopilotOn;
+		private static CompletableFuture<AudioClip> voiceImmunityOff;
+		private static CompletableFuture<AudioClip> voiceImmunityOn;
+
+		private static CompletableFuture<AudioClip> loadVoice(String path) {
+			return CompletableFuture.supplyAsync(() -> Manager.audioClip(path), LOADER);
+		}
+
+		public static AudioClip voiceHelp() {
+			return voiceHelp.join();
+		}
+
+		public static AudioClip voiceAutopilot(boolean on) {
+			return on ? voiceAutopilotOn.join() : voiceAutopilotOff.join();
+		}
+
+		public static AudioClip voiceImmunity(boolean on) {
+			return on ? voiceImmunityOn.join() : voiceImmunityOff.join();
+		}
 
 		//@formatter:off
 		private static final Object[][] MS_PACMAN_AUDIO_CLIP_PATHS = { 
@@ -298,12 +373,48 @@ public class AppRes {
 		};
 		//@formatter:on
 
+		private static SoundBackend backend;
 		private static GameSounds gameSoundsMsPacMan;
 		private static GameSounds gameSoundsPacMan;
 
-		static void load() {
-			gameSoundsMsPacMan = new GameSounds(MS_PACMAN_AUDIO_CLIP_PATHS, true);
-			gameSoundsPacMan = new GameSounds(PACMAN_AUDIO_CLIP_PATHS, true);
+		/**
+		 * @param spec "fx" (JavaFX audio clips), "pcm" (software mixer) or "pcm-null" (software mixer without output)
+		 * @return sound backend
+		 */
+		static SoundBackend createBackend(String spec) {
+			var cacheDir = Path.of(System.getProperty("user.home"), ".pacman-fx", "pcm-cache");
+			return switch (spec) {
+			case "pcm" -> new PcmSoundBackend(cacheDir, false);
+			case "pcm-null" -> new PcmSoundBackend(cacheDir, true);
+			default -> new FxSoundBackend();
+			};
+		}
+
+		static void load(GameVariant firstVariant, SoundBackend soundBackend) {
+			backend = soundBackend;
+			Logger.info("Sound backend: {}", backend.getClass().getSimpleName());
+			gameSoundsMsPacMan = new GameSounds(MS_PACMAN_AUDIO_CLIP_PATHS, false, backend);
+			gameSoundsPacMan = new GameSounds(PACMAN_AUDIO_CLIP_PATHS, false, backend);
+			var first = gameSounds(firstVariant);
+			var second = first == gameSoundsPacMan ? gameSoundsMsPacMan : gameSoundsPacMan;
+			long start = System.nanoTime();
+			var firstDone = first.preload(LOADER, FIRST_CLIPS);
+			voiceHelp = loadVoice("sound/voice/press-key.mp3");
+			var secondDone = second.preload(LOADER);
+			voiceAutopilotOff = loadVoice("sound/voice/autopilot-off.mp3");
+			voiceAutopilotOn = loadVoice("sound/voice/autopilot-on.mp3");
+			voiceImmunityOff = loadVoice("sound/voice/immunity-off.mp3");
+			voiceImmunityOn = loadVoice("sound/voice/immunity-on.mp3");
+			firstDone.thenRun(() -> Logger.info("Sounds of {} loaded after {} ms: {}", firstVariant,
+					(System.nanoTime() - start) / 1_000_000, first.loadReport()));
+			secondDone.thenRun(() -> Logger.info("Sounds of other game variant loaded after {} ms: {}",
+					(System.nanoTime() - start) / 1_000_000, second.loadReport()));
+		}
+
+		public static void shutdown() {
+			if (backend != null) {
+				backend.shutdown();
+			}
 		}
 
 		public static GameSounds gameSounds(GameVariant variant) {
@@ -40,8 +40,11 @@ public class Env {
 	public static final ObjectProperty<Color> mainSceneBgColorPy       = new SimpleObjectProperty<>(Color.web("0x334bd3"));
 	public static final BooleanProperty       showDebugInfoPy          = new SimpleBooleanProperty(false);
 	public static final BooleanProperty       simulationPausedPy       = new SimpleBooleanProperty(false);
+	public static final IntegerProperty       idleFrameratePy          = new SimpleIntegerProperty(2);
 	public static final IntegerProperty       simulationStepsPy        = new SimpleIntegerProperty(1);
 	public static final IntegerProperty       simulationSpeedPy        = new SimpleIntegerProperty(GameModel.FPS);
 	public static final BooleanProperty       simulationTimeMeasuredPy = new SimpleBooleanProperty(false);
+	public static final BooleanProperty       simulationTurboPy        = new SimpleBooleanProperty(false);
+	public static final IntegerProperty       simulationTurboStepsPy   = new SimpleIntegerProperty(10);
 //@formatter:on
 }
\ No newline at end of file
@@ -58,7 +58,8 @@ public class GameApp extends Application {
 
 	@Override
 	public void init() throws Exception {
-		AppRes.load();
+		var settings = new Settings(getParameters() != null ? getParameters().getNamed() : Collections.emptyMap());
+		AppRes.load(settings);
 	}
 
 	@Override
@@ -67,12 +68,16 @@ public class GameApp extends Application {
 		var gameController = new GameController(settings.variant);
 		gameUI = new GameUI(primaryStage, settings, gameController);
 		gameUI.start();
+		GameMonitor.register(gameUI);
 		Logger.info("Game started. Target frame rate: {}", gameUI.targetFrameratePy.get());
 	}
 
 	@Override
 	public void stop() throws Exception {
 		gameUI.stop();
+		gameUI.stopFrameCapture();
+		GameMonitor.unregister();
+		AppRes.Sounds.shutdown();
 		Logger.info("Game stopped");
 	}
 }
\ No newline at end of file
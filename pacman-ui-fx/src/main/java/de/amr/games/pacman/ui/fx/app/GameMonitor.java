@@ -0,0 +1,261 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.app;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.ui.fx.sound.AudioClipID;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SubScene;
+
+/**
+ * Publishes game loop and rendering metrics as platform MBean.
+ * <p>
+ * Attributes are read from the JMX thread: the game loop counters are volatile fields written by the FX thread without
+ * locks or allocation. Operations and attributes reading properties, the scene graph or the game model are executed on
+ * the FX thread.
+ * 
+ * @author Armin Reichert
+ */
+public class GameMonitor implements GameMonitorMXBean {
+
+	public static final String OBJECT_NAME = "de.amr.games.pacman:type=GameMonitor";
+
+	private static final long FX_CALL_TIMEOUT_MILLIS = 1000;
+
+	/**
+	 * Registers a monitor for the given game UI at the platform MBean server.
+	 * 
+	 * @param ui game UI
+	 */
+	public static void register(GameUI ui) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new GameMonitor(ui), new ObjectName(OBJECT_NAME));
+			Logger.info("Game monitor registered as MBean '{}'", OBJECT_NAME);
+		} catch (JMException x) {
+			Logger.error("Could not register game monitor MBean");
+			Logger.error(x);
+		}
+	}
+
+	public static void unregister() {
+		try {
+			var server = ManagementFactory.getPlatformMBeanServer();
+			var name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException x) {
+			Logger.error("Could not unregister game monitor MBean");
+			Logger.error(x);
+		}
+	}
+
+	private static int countNodes(Node node) {
+		int count = 1;
+		if (node instanceof SubScene subScene && subScene.getRoot() != null) {
+			count += countNodes(subScene.getRoot());
+		} else if (node instanceof Parent parent) {
+			for (var child : parent.getChildrenUnmodifiable()) {
+				count += countNodes(child);
+			}
+		}
+		return count;
+	}
+
+	private final GameUI ui;
+
+	private GameMonitor(GameUI ui) {
+		this.ui = ui;
+	}
+
+	@Override
+	public int getTargetFramerate() {
+		Integer framerate = callOnFxThread(Env.simulationSpeedPy::get);
+		return framerate != null ? framerate : -1;
+	}
+
+	@Override
+	public long getActualFramerate() {
+		return ui.getFPS();
+	}
+
+	@Override
+	public long getUpdateCount() {
+		return ui.getUpdateCount();
+	}
+
+	@Override
+	public boolean isTimeMeasured() {
+		return Boolean.TRUE.equals(callOnFxThread(Env.simulationTimeMeasuredPy::get));
+	}
+
+	@Override
+	public void setTimeMeasured(boolean measured) {
+		Platform.runLater(() -> Env.simulationTimeMeasuredPy.set(measured));
+	}
+
+	@Override
+	public double getUpdateP50Millis() {
+		return ui.getUpdateHistogram().windowP50() / 1e6;
+	}
+
+	@Override
+	public double getUpdateP99Millis() {
+		return ui.getUpdateHistogram().windowP99() / 1e6;
+	}
+
+	@Override
+	public double getUpdateMaxMillis() {
+		return ui.getUpdateHistogram().windowMax() / 1e6;
+	}
+
+	@Override
+	public double getRenderP50Millis() {
+		return ui.getRenderHistogram().windowP50() / 1e6;
+	}
+
+	@Override
+	public double getRenderP99Millis() {
+		return ui.getRenderHistogram().windowP99() / 1e6;
+	}
+
+	@Override
+	public double getRenderMaxMillis() {
+		return ui.getRenderHistogram().windowMax() / 1e6;
+	}
+
+	@Override
+	public String getGameScene() {
+		String name = callOnFxThread(() -> {
+			var scene = ui.currentGameScene();
+			return scene != null ? scene.getClass().getSimpleName() : "";
+		});
+		return name != null ? name : "";
+	}
+
+	@Override
+	public String getGameState() {
+		String state = callOnFxThread(() -> String.valueOf(ui.gameController().state()));
+		return state != null ? state : "";
+	}
+
+	@Override
+	public boolean isPaused() {
+		return Boolean.TRUE.equals(callOnFxThread(Env.simulationPausedPy::get));
+	}
+
+	@Override
+	public double getIdleSeconds() {
+		Long idleNanos = callOnFxThread(ui::getIdleNanos);
+		return idleNanos != null ? idleNanos / 1e9 : -1;
+	}
+
+	@Override
+	public int getSceneNodeCount() {
+		Integer count = callOnFxThread(() -> countNodes(ui.mainScene.getRoot()));
+		return count != null ? count : -1;
+	}
+
+	@Override
+	public String[] getPlayingAudioClips() {
+		String[] clips = callOnFxThread(() -> {
+			var sounds = AppRes.Sounds.gameSounds(ui.gameController().game().variant());
+			return Arrays.stream(AudioClipID.values()).filter(sounds::isPlaying).map(AudioClipID::name)
+					.toArray(String[]::new);
+		});
+		return clips != null ? clips : new String[0];
+	}
+
+	@Override
+	public long getSoundBackendCallsPerSecond() {
+		Long calls = callOnFxThread(
+				() -> AppRes.Sounds.gameSounds(ui.gameController().game().variant()).backendCallsPerSecond());
+		return calls != null ? calls : -1;
+	}
+
+	@Override
+	public void pause() {
+		Platform.runLater(() -> {
+			if (!Env.simulationPausedPy.get()) {
+				Actions.togglePaused();
+			}
+		});
+	}
+
+	@Override
+	public void resume() {
+		Platform.runLater(() -> {
+			if (Env.simulationPausedPy.get()) {
+				Actions.togglePaused();
+			}
+		});
+	}
+
+	@Override
+	public void singleStep() {
+		Platform.runLater(Actions::oneSimulationStep);
+	}
+
+	@Override
+	public void setSimulationSpeed(int framerate) {
+		if (framerate <= 0 || framerate >= 120) {
+			throw new IllegalArgumentException("Simulation speed must be in range 1..119 but is %d".formatted(framerate));
+		}
+		Platform.runLater(() -> Env.simulationSpeedPy.set(framerate));
+	}
+
+	private <T> T callOnFxThread(Callable<T> code) {
+		var future = new CompletableFuture<T>();
+		Platform.runLater(() -> {
+			try {
+				future.complete(code.call());
+			} catch (Exception x) {
+				future.completeExceptionally(x);
+			}
+		});
+		try {
+			return future.get(FX_CALL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException | TimeoutException x) {
+			Logger.error("Call on FX thread failed: {}", x.getMessage());
+			return null;
+		}
+	}
+}
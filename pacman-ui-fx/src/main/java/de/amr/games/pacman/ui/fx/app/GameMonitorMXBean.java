@@ -0,0 +1,79 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.app;
+
+/**
+ * Management interface for monitoring and remote control of a running game via JMX.
+ * 
+ * @author Armin Reichert
+ */
+public interface GameMonitorMXBean {
+
+	int getTargetFramerate();
+
+	long getActualFramerate();
+
+	long getUpdateCount();
+
+	boolean isTimeMeasured();
+
+	/** Switches measurement of update and render phase durations on or off. */
+	void setTimeMeasured(boolean measured);
+
+	double getUpdateP50Millis();
+
+	double getUpdateP99Millis();
+
+	double getUpdateMaxMillis();
+
+	double getRenderP50Millis();
+
+	double getRenderP99Millis();
+
+	double getRenderMaxMillis();
+
+	String getGameScene();
+
+	String getGameState();
+
+	boolean isPaused();
+
+	double getIdleSeconds();
+
+	/** Number of nodes in the main scene including the content of (3D) subscenes. */
+	int getSceneNodeCount();
+
+	String[] getPlayingAudioClips();
+
+	/** Number of audio clip method calls per second. */
+	long getSoundBackendCallsPerSecond();
+
+	void pause();
+
+	void resume();
+
+	void singleStep();
+
+	void setSimulationSpeed(int framerate);
+}
@@ -26,6 +26,11 @@ package de.amr.games.pacman.ui.fx.app;
 import static de.amr.games.pacman.lib.Globals.TS;
 import static de.amr.games.pacman.lib.Globals.checkNotNull;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
@@ -36,6 +41,7 @@ import java.util.Optional;
 import org.tinylog.Logger;
 
 import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
 import de.amr.games.pacman.event.GameEvent;
 import de.amr.games.pacman.event.GameEventListener;
 import de.amr.games.pacman.event.GameEvents;
@@ -44,6 +50,10 @@ import de.amr.games.pacman.event.SoundEvent;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.GameVariant;
 import de.amr.games.pacman.model.IllegalGameVariantException;
+import de.amr.games.pacman.ui.fx.input.InputEvent;
+import de.amr.games.pacman.ui.fx.input.InputRecorder;
+import de.amr.games.pacman.ui.fx.input.InputRecording;
+import de.amr.games.pacman.ui.fx.input.InputReplayer;
 import de.amr.games.pacman.ui.fx.input.Keyboard;
 import de.amr.games.pacman.ui.fx.input.KeyboardSteering;
 import de.amr.games.pacman.ui.fx.rendering2d.MsPacManGameRenderer;
@@ -66,11 +76,14 @@ import de.amr.games.pacman.ui.fx.scene2d.PacManIntroScene;
 import de.amr.games.pacman.ui.fx.scene2d.PlayScene2D;
 import de.amr.games.pacman.ui.fx.sound.SoundHandler;
 import de.amr.games.pacman.ui.fx.util.FlashMessageView;
+import de.amr.games.pacman.ui.fx.util.FrameCapture;
+import de.amr.games.pacman.ui.fx.util.RenderScheduler;
 import de.amr.games.pacman.ui.fx.util.GameLoop;
 import de.amr.games.pacman.ui.fx.util.Ufx;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
@@ -98,8 +111,15 @@ public class GameUI extends GameLoop implements GameEventListener {
 	protected final StackPane root = new StackPane();
 	protected final FlashMessageView flashMessageView = new FlashMessageView();
 	protected final SoundHandler soundHandler = new SoundHandler();
+	protected final RenderScheduler renderScheduler = new RenderScheduler();
 	protected KeyboardSteering keyboardSteering;
-	protected GameScene currentGameScene;
+	protected InputRecorder inputRecorder;
+	protected InputReplayer inputReplayer;
+	private boolean replayPending;
+	protected FrameCapture frameCapture;
+	private int captureInterval;
+	private boolean firstFrameRendered;
+	protected volatile GameScene currentGameScene;
 
 	public GameUI(Stage stage, Settings settings, GameController gameController) {
 		checkNotNull(stage);
@@ -117,10 +137,15 @@ public class GameUI extends GameLoop implements GameEventListener {
 		scenes.put(GameVariant.PACMAN, createPacManScenes(gameController));
 
 		createLayout();
+		renderScheduler.add("Flash message", flashMessageView::update);
+		renderScheduler.add("Game scene", () -> currentGameScene.render());
 
 		// main scene
 		mainScene = new Scene(root, TILES_X * TS * settings.zoom, TILES_Y * TS * settings.zoom);
 		mainScene.heightProperty().addListener((py, ov, nv) -> currentGameScene.onParentSceneResize(mainScene));
+		mainScene.widthProperty().addListener((py, ov, nv) -> requestRender());
+		mainScene.heightProperty().addListener((py, ov, nv) -> requestRender());
+		mainScene.addEventFilter(MouseEvent.MOUSE_PRESSED, e -> requestRender());
 		mainScene.setOnKeyPressed(this::handleKeyPressed);
 		mainScene.setOnMouseClicked(e -> {
 			if (e.getClickCount() == 2) {
@@ -138,10 +163,15 @@ public class GameUI extends GameLoop implements GameEventListener {
 		stage.show();
 
 		// game loop
+		modePy.set(settings.loopMode);
 		Env.simulationPausedPy.addListener((py, oldVal, newVal) -> updateUI());
 		targetFrameratePy.bind(Env.simulationSpeedPy);
 		measuredPy.bind(Env.simulationTimeMeasuredPy);
 		pausedPy.bind(Env.simulationPausedPy);
+		turboPy.bind(Env.simulationTurboPy);
+		turboStepsPy.bind(Env.simulationTurboStepsPy);
+		idleFrameratePy.bind(Env.idleFrameratePy);
+		idlePy.bind(Env.simulationPausedPy.or(stage.iconifiedProperty()).or(stage.focusedProperty().not()));
 
 		// keyboard
 		keyboardSteering = new KeyboardSteering(//
@@ -151,9 +181,22 @@ public class GameUI extends GameLoop implements GameEventListener {
 		gameController.setManualPacSteering(keyboardSteering);
 		mainScene.addEventHandler(KeyEvent.KEY_PRESSED, keyboardSteering);
 
+		// input recording and replay
+		inputRecorder = new InputRecorder(settings.recordPath.isBlank() ? null : Path.of(settings.recordPath));
+		keyboardSteering.setOnSteer(dir -> inputRecorder.record(InputEvent.steering(dir)));
+		if (!settings.replayPath.isBlank()) {
+			loadReplay(Path.of(settings.replayPath));
+		}
+
+		// frame capture
+		captureInterval = settings.captureInterval;
+		if (!settings.capturePath.isBlank()) {
+			startFrameCapture(Path.of(settings.capturePath));
+		}
+
 		initEnv(settings);
 		GameEvents.addListener(this);
-		Actions.init(new ActionContext(this, gameController, this::currentGameScene, flashMessageView));
+		Actions.init(new ActionContext(this, gameController, this::currentGameScene, flashMessageView, inputRecorder));
 		Actions.reboot();
 
 		Logger.info("Game UI created. Locale: {}. Application settings: {}", Locale.getDefault(), settings);
@@ -162,14 +205,127 @@ public class GameUI extends GameLoop implements GameEventListener {
 
 	@Override
 	public void doUpdate() {
+		if (inputReplayer != null) {
+			if (replayPending && (gameController.state() == GameState.INTRO || gameController.state() == GameState.CREDIT)) {
+				replayPending = false;
+				gameController.addCredit();
+				inputReplayer.startSession(gameController);
+			}
+			inputReplayer.beforeUpdate();
+		}
 		gameController.update();
+		inputRecorder.afterUpdate(gameController);
+		if (inputReplayer != null && inputReplayer.afterUpdate(gameController)) {
+			boolean ok = inputReplayer.verify(gameController.game());
+			Actions.showFlashMessageSeconds(3, ok ? "Replay verified" : "Replay diverged");
+		}
 		currentGameScene.update();
+		if (frameCapture != null) {
+			captureFrame();
+		}
+	}
+
+	/*
+	 * Frames are captured per simulation tick, not per rendered frame, so the video has the game's frame rate even if
+	 * the display runs slower. In turbo mode (e.g. when replaying an input recording), export is faster than real time.
+	 */
+	private void captureFrame() {
+		if (frameCapture.isDue()) {
+			currentGameScene.render();
+		}
+		frameCapture.capture(currentGameScene.fxSubScene());
+	}
+
+	/**
+	 * Starts capturing frames into the given directory (PNG sequence) or Motion-JPEG file (extension ".mjpeg").
+	 * 
+	 * @param path output path
+	 */
+	public void startFrameCapture(Path path) {
+		stopFrameCapture();
+		var capture = new FrameCapture(path, captureInterval);
+		try {
+			capture.open();
+			frameCapture = capture;
+		} catch (IOException x) {
+			Logger.error("Could not start frame capture into '{}'", path);
+			Logger.error(x);
+		}
+	}
+
+	public void stopFrameCapture() {
+		if (frameCapture != null) {
+			var capture = frameCapture;
+			frameCapture = null;
+			capture.close();
+			Actions.showFlashMessage("Captured %d frames (%d dropped)", capture.capturedFrames(), capture.droppedFrames());
+		}
+	}
+
+	public void toggleFrameCapture() {
+		if (frameCapture != null) {
+			stopFrameCapture();
+		} else {
+			var timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+			startFrameCapture(Path.of("capture-" + timestamp));
+			Actions.showFlashMessage("Capturing frames");
+		}
+	}
+
+	public Optional<FrameCapture> frameCapture() {
+		return Optional.ofNullable(frameCapture);
+	}
+
+	private void loadReplay(Path path) {
+		try {
+			var recording = InputRecording.read(path);
+			if (recording.variant() != gameController.game().variant()) {
+				gameController.selectGameVariant(recording.variant());
+			}
+			inputReplayer = new InputReplayer(recording, this::executeRecordedInput);
+			gameController.setManualPacSteering(inputReplayer);
+			replayPending = true;
+			Logger.info("Replaying input recording '{}'", path);
+		} catch (IOException x) {
+			Logger.error("Could not read input recording '{}'", path);
+			Logger.error(x);
+		}
+	}
+
+	protected void executeRecordedInput(InputEvent event, int arg) {
+		switch (event) {
+		case ADD_CREDIT -> Actions.addCredit();
+		case TOGGLE_AUTOPILOT -> Actions.toggleAutopilot();
+		case TOGGLE_IMMUNITY -> Actions.toggleImmunity();
+		case CHEAT_ADD_LIVES -> Actions.cheatAddLives(arg);
+		case CHEAT_EAT_ALL -> Actions.cheatEatAllPellets();
+		case CHEAT_NEXT_LEVEL -> Actions.cheatEnterNextLevel();
+		case CHEAT_KILL_GHOSTS -> Actions.cheatKillAllEatableGhosts();
+		default -> Logger.warn("Cannot execute recorded input event {}", event);
+		}
 	}
 
 	@Override
 	public void doRender() {
-		flashMessageView.update();
-		currentGameScene.render();
+		renderScheduler.render();
+		if (!firstFrameRendered) {
+			firstFrameRendered = true;
+			Logger.info("First frame rendered {} ms after start", ManagementFactory.getRuntimeMXBean().getUptime());
+		}
+	}
+
+	/**
+	 * Sound commands issued during the frame are executed here, so they also reach the audio backend when rendering is
+	 * skipped.
+	 */
+	@Override
+	public void doFrameEnd() {
+		AppRes.Sounds.gameSounds(GameVariant.MS_PACMAN).flush();
+		AppRes.Sounds.gameSounds(GameVariant.PACMAN).flush();
+	}
+
+	public RenderScheduler renderScheduler() {
+		return renderScheduler;
 	}
 
 	protected void createLayout() {
@@ -203,6 +359,7 @@ public class GameUI extends GameLoop implements GameEventListener {
 	}
 
 	private void handleKeyPressed(KeyEvent keyEvent) {
+		requestRender();
 		Keyboard.accept(keyEvent);
 		handleKeyboardInput();
 		Keyboard.clearState();
@@ -315,12 +472,16 @@ public class GameUI extends GameLoop implements GameEventListener {
 			Actions.changeSimulationSpeed(-5);
 		} else if (Keyboard.pressed(Keys.SIMULATION_NORMAL)) {
 			Actions.resetSimulationSpeed();
+		} else if (Keyboard.pressed(Keys.SIMULATION_TURBO)) {
+			Actions.toggleTurbo();
 		} else if (Keyboard.pressed(Keys.QUIT)) {
 			Actions.restartIntro();
 		} else if (Keyboard.pressed(Keys.TEST_LEVELS)) {
 			Actions.startLevelTestMode();
 		} else if (Keyboard.pressed(Keys.FULLSCREEN)) {
 			stage.setFullScreen(true);
+		} else if (Keyboard.pressed(Keys.FRAME_CAPTURE)) {
+			toggleFrameCapture();
 		}
 		currentGameScene.handleKeyboardInput();
 	}
@@ -0,0 +1,111 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.app;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.input.InputRecording;
+
+/**
+ * Runs the game simulation without user interface, steered by the autopilot, as fast as possible.
+ * <p>
+ * Parameters (all optional): <code>--variant=PACMAN|MS_PACMAN --games=10 --ticks=10000000 --immune=false</code>
+ * <p>
+ * With <code>--replay=file</code> the given input recording is replayed instead and the exit code tells if the replay
+ * reproduced the recorded score and level.
+ * <p>
+ * With <code>--threads=n</code> (0 = all cores) the given number of games is played for each game variant in
+ * parallel, each game limited to the given number of ticks.
+ * 
+ * @author Armin Reichert
+ */
+public class HeadlessMain {
+
+	public static void main(String[] args) throws IOException {
+		var parameters = parseNamedParameters(args);
+		if (parameters.containsKey("replay")) {
+			replay(Path.of(parameters.get("replay")), Long.parseLong(parameters.getOrDefault("ticks", "10000000")));
+			return;
+		}
+		if (parameters.containsKey("threads")) {
+			runFarm(parameters);
+			return;
+		}
+		var variant = GameVariant.valueOf(parameters.getOrDefault("variant", GameVariant.PACMAN.name()));
+		int maxGames = Integer.parseInt(parameters.getOrDefault("games", "10"));
+		long maxTicks = Long.parseLong(parameters.getOrDefault("ticks", "10000000"));
+		boolean immune = Boolean.parseBoolean(parameters.getOrDefault("immune", "false"));
+
+		var simulation = new HeadlessSimulation(variant);
+		simulation.gameController().game().setImmune(immune);
+		Logger.info("Headless simulation started. Variant: {} Max games: {} Max ticks: {} Immune: {}", variant, maxGames,
+				maxTicks, immune);
+		simulation.run(maxTicks, maxGames);
+		simulation.logReport();
+	}
+
+	private static void runFarm(Map<String, String> parameters) {
+		int threads = Integer.parseInt(parameters.get("threads"));
+		int gamesPerVariant = Integer.parseInt(parameters.getOrDefault("games", "10"));
+		long maxTicksPerGame = Long.parseLong(parameters.getOrDefault("ticks", "10000000"));
+		boolean immune = Boolean.parseBoolean(parameters.getOrDefault("immune", "false"));
+		var farm = threads > 0 ? new SimulationFarm(threads, gamesPerVariant, maxTicksPerGame, immune)
+				: new SimulationFarm(gamesPerVariant, maxTicksPerGame, immune);
+		Logger.info("Simulation farm started. Games per variant: {} Max ticks per game: {} Immune: {}", gamesPerVariant,
+				maxTicksPerGame, immune);
+		farm.run();
+		farm.logReport();
+	}
+
+	private static void replay(Path path, long maxTicks) throws IOException {
+		var recording = InputRecording.read(path);
+		var simulation = new HeadlessSimulation(recording.variant());
+		Logger.info("Replaying '{}'. Variant: {} Events: {} Seed: {}", path, recording.variant(), recording.size(),
+				recording.seed());
+		boolean verified = simulation.replay(recording, maxTicks);
+		simulation.logReport();
+		if (!verified) {
+			System.exit(1);
+		}
+	}
+
+	static Map<String, String> parseNamedParameters(String[] args) {
+		var parameters = new HashMap<String, String>();
+		for (var arg : args) {
+			if (arg.startsWith("--") && arg.contains("=")) {
+				int sep = arg.indexOf('=');
+				parameters.put(arg.substring(2, sep), arg.substring(sep + 1));
+			} else {
+				Logger.error("Ignored parameter '{}', expected --name=value", arg);
+			}
+		}
+		return parameters;
+	}
+}
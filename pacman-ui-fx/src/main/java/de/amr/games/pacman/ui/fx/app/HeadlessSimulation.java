@@ -0,0 +1,262 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.app;
+
+import static de.amr.games.pacman.lib.Globals.checkNotNull;
+
+import java.lang.management.ManagementFactory;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.event.GameEvents;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.input.InputEvent;
+import de.amr.games.pacman.ui.fx.input.InputRecording;
+import de.amr.games.pacman.ui.fx.input.InputReplayer;
+import de.amr.games.pacman.ui.fx.util.LatencyHistogram;
+
+/**
+ * Ticks a game controller without any user interface as fast as possible. The autopilot steers Pac-Man, sound events
+ * are disabled and the game state transitions normally triggered by the game scenes (boot screen, intro, credit,
+ * intermissions) are executed directly.
+ * 
+ * @author Armin Reichert
+ */
+public class HeadlessSimulation {
+
+	private final GameController gameController;
+	private final LatencyHistogram tickDurations = new LatencyHistogram("Tick");
+	private long ticks;
+	private long elapsedNanos;
+	private int gamesPlayed;
+	private int levelsCompleted;
+	private int bestScore;
+	private int highestLevel;
+
+	public HeadlessSimulation(GameController gameController) {
+		checkNotNull(gameController);
+		this.gameController = gameController;
+	}
+
+	public HeadlessSimulation(GameVariant variant) {
+		this(new GameController(variant));
+	}
+
+	public GameController gameController() {
+		return gameController;
+	}
+
+	/**
+	 * Runs the simulation until one of the given limits is reached.
+	 * 
+	 * @param maxTicks maximum number of simulation ticks
+	 * @param maxGames maximum number of games played until game over
+	 */
+	public void run(long maxTicks, int maxGames) {
+		start();
+		long startTime = System.nanoTime();
+		while (ticks < maxTicks && gamesPlayed < maxGames) {
+			long tickStart = System.nanoTime();
+			tick();
+			recordTickDuration(System.nanoTime() - tickStart);
+		}
+		elapsedNanos += System.nanoTime() - startTime;
+	}
+
+	/**
+	 * Enables the autopilot, disables sound events and reboots the game. Call this before ticking the simulation
+	 * yourself.
+	 */
+	public void start() {
+		GameEvents.setSoundEventsEnabled(false);
+		if (!gameController.isAutoControlled()) {
+			gameController.toggleAutoControlled();
+		}
+		gameController.restart(GameState.BOOT);
+	}
+
+	/**
+	 * Plays a single autopilot game on a new game controller. Results are returned as primitive values such that this
+	 * method can be called reflectively from outside the class loader it runs in, see {@link SimulationFarm}.
+	 * 
+	 * @param variantName name of game variant
+	 * @param immune      if Pac-Man is immune against ghosts
+	 * @param maxTicks    maximum number of simulation ticks
+	 * @return array containing score, level reached, ticks, elapsed nanoseconds and CPU nanoseconds of the calling
+	 *         thread (elapsed nanoseconds if CPU time measurement is not supported)
+	 */
+	public static long[] playGame(String variantName, boolean immune, long maxTicks) {
+		var threadMXBean = ManagementFactory.getThreadMXBean();
+		boolean measureCpu = threadMXBean.isCurrentThreadCpuTimeSupported();
+		long cpuStart = measureCpu ? threadMXBean.getCurrentThreadCpuTime() : 0;
+		var simulation = new HeadlessSimulation(GameVariant.valueOf(variantName));
+		simulation.gameController().game().setImmune(immune);
+		simulation.run(maxTicks, 1);
+		var game = simulation.gameController().game();
+		long score = game.score().map(s -> s.points()).orElse(0);
+		long level = game.level().map(l -> l.number()).orElse(simulation.highestLevel);
+		long cpuNanos = measureCpu ? threadMXBean.getCurrentThreadCpuTime() - cpuStart : simulation.elapsedNanos;
+		return new long[] { score, level, simulation.ticks, simulation.elapsedNanos, cpuNanos };
+	}
+
+	/**
+	 * Replays a recorded play session until game over or the tick limit is reached.
+	 * 
+	 * @param recording recorded session, must match the game variant of this simulation
+	 * @param maxTicks  maximum number of simulation ticks
+	 * @return if the replayed game ended with the recorded score and level
+	 */
+	public boolean replay(InputRecording recording, long maxTicks) {
+		var replayer = new InputReplayer(recording, this::executeRecordedInput);
+		GameEvents.setSoundEventsEnabled(false);
+		gameController.setManualPacSteering(replayer);
+		gameController.restart(GameState.INTRO);
+		gameController.addCredit();
+		replayer.startSession(gameController);
+		long startTime = System.nanoTime();
+		while (replayer.isRunning() && ticks < maxTicks) {
+			long tickStart = System.nanoTime();
+			replayer.beforeUpdate();
+			if (gameController.state() == GameState.INTERMISSION) {
+				gameController.state().timer().expire();
+			}
+			gameController.update();
+			replayer.afterUpdate(gameController);
+			++ticks;
+			recordTickDuration(System.nanoTime() - tickStart);
+		}
+		elapsedNanos += System.nanoTime() - startTime;
+		return replayer.verify(gameController.game());
+	}
+
+	private void executeRecordedInput(InputEvent event, int arg) {
+		var game = gameController.game();
+		switch (event) {
+		case ADD_CREDIT -> gameController.addCredit();
+		case TOGGLE_AUTOPILOT -> gameController.toggleAutoControlled();
+		case TOGGLE_IMMUNITY -> game.setImmune(!game.isImmune());
+		case CHEAT_ADD_LIVES -> game.setLives(game.lives() + arg);
+		case CHEAT_EAT_ALL -> gameController.cheatEatAllPellets();
+		case CHEAT_NEXT_LEVEL -> gameController.cheatEnterNextLevel();
+		case CHEAT_KILL_GHOSTS -> gameController.cheatKillAllEatableGhosts();
+		default -> Logger.warn("Cannot execute recorded input event {}", event);
+		}
+	}
+
+	/**
+	 * Executes a single simulation step.
+	 */
+	public void tick() {
+		var state = gameController.state();
+		switch (state) {
+		case BOOT -> gameController.terminateCurrentState();
+		case INTRO, CREDIT -> {
+			if (gameController.game().hasCredit()) {
+				gameController.startPlaying();
+			} else {
+				gameController.addCredit();
+			}
+		}
+		case INTERMISSION -> gameController.state().timer().expire();
+		default -> {
+			// let the controller do its job
+		}
+		}
+		gameController.update();
+		var newState = gameController.state();
+		if (newState != state) {
+			onStateChange(newState);
+		}
+		++ticks;
+	}
+
+	private void onStateChange(GameState newState) {
+		var game = gameController.game();
+		if (newState == GameState.LEVEL_COMPLETE) {
+			++levelsCompleted;
+			game.level().ifPresent(level -> highestLevel = Math.max(highestLevel, level.number()));
+		} else if (newState == GameState.GAME_OVER) {
+			++gamesPlayed;
+			game.level().ifPresent(level -> highestLevel = Math.max(highestLevel, level.number()));
+			game.score().ifPresent(score -> bestScore = Math.max(bestScore, score.points()));
+			Logger.trace("Game #{} over, score: {}", gamesPlayed, game.score().map(score -> score.points()).orElse(0));
+		}
+	}
+
+	private void recordTickDuration(long nanos) {
+		tickDurations.record(nanos);
+	}
+
+	public long ticks() {
+		return ticks;
+	}
+
+	public int gamesPlayed() {
+		return gamesPlayed;
+	}
+
+	public int levelsCompleted() {
+		return levelsCompleted;
+	}
+
+	public int bestScore() {
+		return bestScore;
+	}
+
+	public int highestLevel() {
+		return highestLevel;
+	}
+
+	public long elapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public double ticksPerSecond() {
+		return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * @param percentile percentile in range 0..100
+	 * @return tick duration (nanoseconds) at the given percentile, at most 25% above the exact value
+	 */
+	public long tickDurationPercentile(double percentile) {
+		return tickDurations.percentile(percentile);
+	}
+
+	public void logReport() {
+		Logger.info("Variant: {} Ticks: {} Time: {} sec Throughput: {} ticks/sec", gameController.game().variant(), ticks,
+				"%.2f".formatted(elapsedNanos / 1e9), "%.0f".formatted(ticksPerSecond()));
+		Logger.info("Games: {} Levels completed: {} Highest level: {} Best score: {}", gamesPlayed, levelsCompleted,
+				highestLevel, bestScore);
+		Logger.info("Tick latency (microseconds) p50: {} p90: {} p99: {} p99.9: {} max: {}", //
+				micros(tickDurationPercentile(50)), micros(tickDurationPercentile(90)), micros(tickDurationPercentile(99)),
+				micros(tickDurationPercentile(99.9)), micros(tickDurationPercentile(100)));
+	}
+
+	private static String micros(long nanos) {
+		return "%.1f".formatted(nanos / 1e3);
+	}
+}
@@ -53,6 +53,7 @@ public class Keys {
 	public static final KeyCodeCombination AUTOPILOT = alt(KeyCode.A);
 	public static final KeyCodeCombination DASHBOARD2 = alt(KeyCode.B);
 	public static final KeyCodeCombination DEBUG_INFO = alt(KeyCode.D);
+	public static final KeyCodeCombination FRAME_CAPTURE = alt(KeyCode.R);
 	public static final KeyCodeCombination IMMUNITIY = alt(KeyCode.I);
 	public static final KeyCodeCombination MUTE = alt(KeyCode.M);
 
@@ -63,6 +64,7 @@ public class Keys {
 	public static final KeyCodeCombination SIMULATION_FASTER = alt(KeyCode.PLUS);
 	public static final KeyCodeCombination SIMULATION_SLOWER = alt(KeyCode.MINUS);
 	public static final KeyCodeCombination SIMULATION_NORMAL = alt(KeyCode.DIGIT0);
+	public static final KeyCodeCombination SIMULATION_TURBO = alt(KeyCode.F);
 
 	public static final KeyCodeCombination QUIT = just(KeyCode.Q);
 	public static final KeyCodeCombination TEST_LEVELS = alt(KeyCode.T);
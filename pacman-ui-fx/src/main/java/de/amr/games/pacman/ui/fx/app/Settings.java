@@ -30,6 +30,7 @@ import org.tinylog.Logger;
 
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.ui.fx.util.GameLoop;
 import javafx.scene.input.KeyCode;
 
 /**
@@ -69,6 +70,12 @@ public class Settings {
 	public final float zoom;
 	public final Map<Direction, KeyCode> keyMap;
 	public final boolean useTestRenderer;
+	public final GameLoop.Mode loopMode;
+	public final String recordPath;
+	public final String replayPath;
+	public final String capturePath;
+	public final int captureInterval;
+	public final String soundBackend;
 
 	@SuppressWarnings("unchecked")
 	public Settings(Map<String, String> parameters) {
@@ -79,10 +86,18 @@ public class Settings {
 		zoom = parse(parameters, "zoom", 2.0f, Float::valueOf);
 		keyMap = (Map<Direction, KeyCode>) parse(parameters, "keys", "cursor", Settings::parseKeyMap);
 		useTestRenderer = parse(parameters, "useTestRenderer", false, Boolean::valueOf);
+		loopMode = parse(parameters, "loopMode", GameLoop.Mode.TIMELINE, GameLoop.Mode::valueOf);
+		recordPath = parse(parameters, "record", "", String::valueOf);
+		replayPath = parse(parameters, "replay", "", String::valueOf);
+		capturePath = parse(parameters, "capture", "", String::valueOf);
+		captureInterval = parse(parameters, "captureEvery", 1, Integer::valueOf);
+		soundBackend = parse(parameters, "sound", "fx", String::valueOf);
 	}
 
 	@Override
 	public String toString() {
-		return "{fullScreen=%s, variant=%s, zoom=%.2f, keyMap=%s}".formatted(fullScreen, variant, zoom, keyMap);
+		return "{fullScreen=%s, variant=%s, zoom=%.2f, keyMap=%s, loopMode=%s, record=%s, replay=%s, capture=%s, captureEvery=%d, sound=%s}"
+				.formatted(fullScreen, variant, zoom, keyMap, loopMode, recordPath, replayPath, capturePath, captureInterval,
+						soundBackend);
 	}
 }
\ No newline at end of file
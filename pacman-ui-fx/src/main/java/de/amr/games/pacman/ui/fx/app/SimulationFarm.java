@@ -0,0 +1,227 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.model.GameVariant;
+
+/**
+ * Runs many autopilot games on all processor cores and aggregates the results per game variant.
+ * <p>
+ * The game model relies on static state (event listeners and game controller in {@code GameEvents}, the random
+ * generator in {@code Globals}), so game controllers cannot simply run side by side in one class loader. Each worker
+ * therefore loads the game classes through its own class loader and plays its games sequentially in there. The UI
+ * classes holding static state ({@link Env}, {@link Actions}) are never touched by the headless simulation.
+ * 
+ * @author Armin Reichert
+ */
+public class SimulationFarm {
+
+	public record VariantResult(GameVariant variant, int games, long totalScore, int bestScore, long totalLevels,
+			int highestLevel, long ticks, long cpuNanos) {
+
+		public double meanScore() {
+			return games == 0 ? 0 : (double) totalScore / games;
+		}
+
+		public double meanLevel() {
+			return games == 0 ? 0 : (double) totalLevels / games;
+		}
+
+		/** Throughput of a single core, based on the CPU time of the worker threads. */
+		public double ticksPerCoreSecond() {
+			return cpuNanos == 0 ? 0 : ticks * 1e9 / cpuNanos;
+		}
+	}
+
+	private static final String SIMULATION_CLASS_NAME = HeadlessSimulation.class.getName();
+
+	private final int parallelism;
+	private final int gamesPerVariant;
+	private final long maxTicksPerGame;
+	private final boolean immune;
+	private final URL[] classPath;
+	private final List<long[]> results = Collections.synchronizedList(new ArrayList<>());
+	private long wallNanos;
+
+	/**
+	 * @param parallelism     number of worker threads
+	 * @param gamesPerVariant number of games played for each game variant
+	 * @param maxTicksPerGame tick limit for a single game (immune Pac-Man may never die)
+	 * @param immune          if Pac-Man is immune against ghosts
+	 */
+	public SimulationFarm(int parallelism, int gamesPerVariant, long maxTicksPerGame, boolean immune) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive but is %d".formatted(parallelism));
+		}
+		this.parallelism = parallelism;
+		this.gamesPerVariant = gamesPerVariant;
+		this.maxTicksPerGame = maxTicksPerGame;
+		this.immune = immune;
+		this.classPath = applicationClassPath();
+	}
+
+	public SimulationFarm(int gamesPerVariant, long maxTicksPerGame, boolean immune) {
+		this(Runtime.getRuntime().availableProcessors(), gamesPerVariant, maxTicksPerGame, immune);
+	}
+
+	/**
+	 * Plays all games and blocks until they are finished.
+	 */
+	public void run() {
+		var variants = GameVariant.values();
+		var nextGame = new AtomicInteger();
+		int totalGames = variants.length * gamesPerVariant;
+		var pool = new ForkJoinPool(parallelism);
+		long startTime = System.nanoTime();
+		try {
+			var workers = new ArrayList<ForkJoinTask<?>>(parallelism);
+			for (int i = 0; i < parallelism; ++i) {
+				workers.add(pool.submit(() -> work(variants, nextGame, totalGames)));
+			}
+			workers.forEach(ForkJoinTask::join);
+		} finally {
+			pool.shutdown();
+		}
+		wallNanos = System.nanoTime() - startTime;
+	}
+
+	private void work(GameVariant[] variants, AtomicInteger nextGame, int totalGames) {
+		try (var loader = new URLClassLoader("simulation", classPath, ClassLoader.getPlatformClassLoader())) {
+			Method playGame = loader.loadClass(SIMULATION_CLASS_NAME).getMethod("playGame", String.class, boolean.class,
+					long.class);
+			int game;
+			while ((game = nextGame.getAndIncrement()) < totalGames) {
+				var variant = variants[game % variants.length];
+				long[] outcome = (long[]) playGame.invoke(null, variant.name(), immune, maxTicksPerGame);
+				results.add(new long[] { variant.ordinal(), outcome[0], outcome[1], outcome[2], outcome[4] });
+				Logger.trace("Game #{} ({}) finished, score: {} level: {}", game, variant, outcome[0], outcome[1]);
+			}
+		} catch (InvocationTargetException x) {
+			throw new IllegalStateException("Simulation failed", x.getCause());
+		} catch (ReflectiveOperationException x) {
+			throw new IllegalStateException("Could not load simulation in isolated class loader", x);
+		} catch (IOException x) {
+			throw new UncheckedIOException(x);
+		}
+	}
+
+	public Map<GameVariant, VariantResult> results() {
+		var aggregated = new EnumMap<GameVariant, VariantResult>(GameVariant.class);
+		for (var variant : GameVariant.values()) {
+			int games = 0;
+			int bestScore = 0;
+			int highestLevel = 0;
+			long totalScore = 0;
+			long totalLevels = 0;
+			long ticks = 0;
+			long cpuNanos = 0;
+			synchronized (results) {
+				for (var r : results) {
+					if (r[0] == variant.ordinal()) {
+						++games;
+						totalScore += r[1];
+						bestScore = Math.max(bestScore, (int) r[1]);
+						totalLevels += r[2];
+						highestLevel = Math.max(highestLevel, (int) r[2]);
+						ticks += r[3];
+						cpuNanos += r[4];
+					}
+				}
+			}
+			aggregated.put(variant,
+					new VariantResult(variant, games, totalScore, bestScore, totalLevels, highestLevel, ticks, cpuNanos));
+		}
+		return aggregated;
+	}
+
+	public long wallNanos() {
+		return wallNanos;
+	}
+
+	public void logReport() {
+		long totalTicks = 0;
+		for (var r : results().values()) {
+			Logger.info("{}: games: {} score mean: {} best: {} level mean: {} highest: {} ticks/sec per core: {}",
+					r.variant(), r.games(), "%.0f".formatted(r.meanScore()), r.bestScore(), "%.1f".formatted(r.meanLevel()),
+					r.highestLevel(), "%.0f".formatted(r.ticksPerCoreSecond()));
+			totalTicks += r.ticks();
+		}
+		Logger.info("Threads: {} Wall time: {} sec Total throughput: {} ticks/sec", parallelism,
+				"%.2f".formatted(wallNanos / 1e9), "%.0f".formatted(wallNanos == 0 ? 0 : totalTicks * 1e9 / wallNanos));
+	}
+
+	private static URL[] applicationClassPath() {
+		var urls = new ArrayList<URL>();
+		for (var property : List.of("java.class.path", "jdk.module.path")) {
+			var value = System.getProperty(property);
+			if (value == null || value.isBlank()) {
+				continue;
+			}
+			for (var entry : value.split(File.pathSeparator)) {
+				var path = Path.of(entry);
+				// module path entries may be directories of modular jars
+				var jars = path.toFile().listFiles((dir, name) -> name.endsWith(".jar"));
+				if (jars != null && jars.length > 0) {
+					for (var jar : jars) {
+						addURL(urls, jar.toPath());
+					}
+				} else {
+					addURL(urls, path);
+				}
+			}
+		}
+		if (urls.isEmpty()) {
+			throw new IllegalStateException("Cannot determine application class path");
+		}
+		return urls.toArray(URL[]::new);
+	}
+
+	private static void addURL(List<URL> urls, Path path) {
+		try {
+			urls.add(path.toUri().toURL());
+		} catch (MalformedURLException x) {
+			Logger.error("Ignored class path entry '{}'", path);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.input;
+
+import de.amr.games.pacman.lib.steering.Direction;
+
+/**
+ * User input that influences the game model and therefore is recorded for replay.
+ * 
+ * @author Armin Reichert
+ */
+public enum InputEvent {
+
+	STEER_UP, STEER_DOWN, STEER_LEFT, STEER_RIGHT, //
+	ADD_CREDIT, TOGGLE_AUTOPILOT, TOGGLE_IMMUNITY, //
+	CHEAT_ADD_LIVES, CHEAT_EAT_ALL, CHEAT_NEXT_LEVEL, CHEAT_KILL_GHOSTS;
+
+	private static final InputEvent[] VALUES = values();
+
+	public static InputEvent fromCode(int code) {
+		if (code < 0 || code >= VALUES.length) {
+			throw new IllegalArgumentException("Illegal input event code: %d".formatted(code));
+		}
+		return VALUES[code];
+	}
+
+	public static InputEvent steering(Direction dir) {
+		return switch (dir) {
+		case UP -> STEER_UP;
+		case DOWN -> STEER_DOWN;
+		case LEFT -> STEER_LEFT;
+		case RIGHT -> STEER_RIGHT;
+		};
+	}
+
+	public int code() {
+		return ordinal();
+	}
+
+	public boolean isSteering() {
+		return this == STEER_UP || this == STEER_DOWN || this == STEER_LEFT || this == STEER_RIGHT;
+	}
+
+	public Direction direction() {
+		return switch (this) {
+		case STEER_UP -> Direction.UP;
+		case STEER_DOWN -> Direction.DOWN;
+		case STEER_LEFT -> Direction.LEFT;
+		case STEER_RIGHT -> Direction.RIGHT;
+		default -> throw new IllegalStateException("Not a steering event: %s".formatted(this));
+		};
+	}
+
+	/**
+	 * @return if this event carries an integer argument (e.g. number of lives added)
+	 */
+	public boolean hasArgument() {
+		return this == CHEAT_ADD_LIVES;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.input;
+
+import static de.amr.games.pacman.lib.Globals.RND;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+
+/**
+ * Records the input events of a play session. The random generator is reseeded at session start such that the
+ * session can be replayed deterministically from the recording.
+ * <p>
+ * Ticks are counted per game update but not during intermissions because their duration differs between UI and
+ * headless replay.
+ * 
+ * @author Armin Reichert
+ */
+public class InputRecorder {
+
+	private final Path path;
+	private InputRecording recording;
+	private long tick;
+
+	/**
+	 * @param path file where recordings are written to when a session ends, {@code null} disables recording
+	 */
+	public InputRecorder(Path path) {
+		this.path = path;
+	}
+
+	public boolean isEnabled() {
+		return path != null;
+	}
+
+	public boolean isRecording() {
+		return recording != null;
+	}
+
+	public void startSession(GameController gc) {
+		if (!isEnabled()) {
+			return;
+		}
+		long seed = System.nanoTime();
+		RND.setSeed(seed);
+		recording = new InputRecording(gc.game().variant(), seed, gc.isAutoControlled(), gc.game().isImmune());
+		tick = 0;
+		Logger.info("Input recording started, seed={}", seed);
+	}
+
+	public void record(InputEvent event) {
+		record(event, 0);
+	}
+
+	public void record(InputEvent event, int arg) {
+		if (recording != null) {
+			recording.add(tick, event, arg);
+		}
+	}
+
+	/**
+	 * Must be called after each game update.
+	 * 
+	 * @param gc game controller
+	 */
+	public void afterUpdate(GameController gc) {
+		if (recording == null) {
+			return;
+		}
+		var state = gc.state();
+		if (state == GameState.GAME_OVER) {
+			finish(gc);
+		} else if (state != GameState.INTERMISSION) {
+			++tick;
+		}
+	}
+
+	private void finish(GameController gc) {
+		var game = gc.game();
+		int score = game.score().map(s -> s.points()).orElse(0);
+		int level = game.level().map(l -> l.number()).orElse(0);
+		recording.setResult(score, level);
+		try {
+			recording.write(path);
+			Logger.info("Input recording written to '{}': {} events, {} ticks, score={}, level={}", path, recording.size(),
+					tick, score, level);
+		} catch (IOException x) {
+			Logger.error("Could not write input recording to '{}'", path);
+			Logger.error(x);
+		}
+		recording = null;
+	}
+}
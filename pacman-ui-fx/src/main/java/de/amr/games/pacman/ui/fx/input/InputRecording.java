@@ -0,0 +1,213 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.input;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import de.amr.games.pacman.model.GameVariant;
+
+/**
+ * Input events of a play session together with the data needed to reproduce the session: game variant, random
+ * generator seed and the autopilot and immunity settings at session start. The expected final score and level are
+ * stored at the end.
+ * <p>
+ * Binary format: magic number, version, variant, flags, seed; then for each event the tick delta (varint), the event
+ * code (byte) and, if the event has one, the argument (varint); finally an end marker, the score and the level number
+ * (varints).
+ * 
+ * @author Armin Reichert
+ */
+public class InputRecording {
+
+	private static final int MAGIC = 0x504D5243; // "PMRC"
+	private static final byte VERSION = 1;
+	private static final int END_MARKER = 0xFF;
+	private static final int FLAG_AUTOPILOT = 1;
+	private static final int FLAG_IMMUNE = 2;
+
+	private final GameVariant variant;
+	private final long seed;
+	private final boolean autopilot;
+	private final boolean immune;
+
+	private long[] ticks = new long[256];
+	private byte[] codes = new byte[256];
+	private int[] args = new int[256];
+	private int size;
+
+	private int finalScore;
+	private int finalLevel;
+
+	public InputRecording(GameVariant variant, long seed, boolean autopilot, boolean immune) {
+		this.variant = variant;
+		this.seed = seed;
+		this.autopilot = autopilot;
+		this.immune = immune;
+	}
+
+	public GameVariant variant() {
+		return variant;
+	}
+
+	public long seed() {
+		return seed;
+	}
+
+	public boolean autopilot() {
+		return autopilot;
+	}
+
+	public boolean immune() {
+		return immune;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long tick(int i) {
+		return ticks[i];
+	}
+
+	public InputEvent event(int i) {
+		return InputEvent.fromCode(codes[i]);
+	}
+
+	public int arg(int i) {
+		return args[i];
+	}
+
+	public int finalScore() {
+		return finalScore;
+	}
+
+	public int finalLevel() {
+		return finalLevel;
+	}
+
+	public void add(long tick, InputEvent event, int arg) {
+		if (size == ticks.length) {
+			ticks = Arrays.copyOf(ticks, 2 * size);
+			codes = Arrays.copyOf(codes, 2 * size);
+			args = Arrays.copyOf(args, 2 * size);
+		}
+		ticks[size] = tick;
+		codes[size] = (byte) event.code();
+		args[size] = arg;
+		++size;
+	}
+
+	public void setResult(int score, int levelNumber) {
+		this.finalScore = score;
+		this.finalLevel = levelNumber;
+	}
+
+	public void write(Path path) throws IOException {
+		var out = new ByteArrayOutputStream(16 + 3 * size);
+		writeInt(out, MAGIC);
+		out.write(VERSION);
+		out.write(variant.ordinal());
+		out.write((autopilot ? FLAG_AUTOPILOT : 0) | (immune ? FLAG_IMMUNE : 0));
+		writeLong(out, seed);
+		long prevTick = 0;
+		for (int i = 0; i < size; ++i) {
+			writeVarLong(out, ticks[i] - prevTick);
+			out.write(codes[i]);
+			if (event(i).hasArgument()) {
+				writeVarLong(out, args[i]);
+			}
+			prevTick = ticks[i];
+		}
+		writeVarLong(out, 0);
+		out.write(END_MARKER);
+		writeVarLong(out, finalScore);
+		writeVarLong(out, finalLevel);
+		Files.write(path, out.toByteArray());
+	}
+
+	public static InputRecording read(Path path) throws IOException {
+		var in = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (in.getInt() != MAGIC) {
+			throw new IOException("File '%s' is no input recording".formatted(path));
+		}
+		byte version = in.get();
+		if (version != VERSION) {
+			throw new IOException("Unsupported input recording version: %d".formatted(version));
+		}
+		var variant = GameVariant.values()[in.get()];
+		int flags = in.get();
+		long seed = in.getLong();
+		var recording = new InputRecording(variant, seed, (flags & FLAG_AUTOPILOT) != 0, (flags & FLAG_IMMUNE) != 0);
+		long tick = 0;
+		while (true) {
+			long delta = readVarLong(in);
+			int code = in.get() & 0xFF;
+			if (code == END_MARKER) {
+				break;
+			}
+			tick += delta;
+			var event = InputEvent.fromCode(code);
+			int arg = event.hasArgument() ? (int) readVarLong(in) : 0;
+			recording.add(tick, event, arg);
+		}
+		recording.setResult((int) readVarLong(in), (int) readVarLong(in));
+		return recording;
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			out.write(value >>> shift);
+		}
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		writeInt(out, (int) (value >>> 32));
+		writeInt(out, (int) value);
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer in) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
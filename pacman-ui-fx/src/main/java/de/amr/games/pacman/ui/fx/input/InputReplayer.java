@@ -0,0 +1,179 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.input;
+
+import static de.amr.games.pacman.lib.Globals.RND;
+import static de.amr.games.pacman.lib.Globals.checkNotNull;
+
+import java.util.function.ObjIntConsumer;
+
+import org.tinylog.Logger;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.controller.Steering;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.actors.Creature;
+
+/**
+ * Replays a recorded play session. Steering events are applied when Pac-Man is steered, all other events are passed
+ * to the executor before the game update of their tick.
+ * 
+ * @author Armin Reichert
+ */
+public class InputReplayer implements Steering {
+
+	private final InputRecording recording;
+	private final ObjIntConsumer<InputEvent> executor;
+	private boolean enabled;
+	private int cursor;
+	private long tick;
+	private boolean running;
+
+	/**
+	 * @param recording recorded session
+	 * @param executor  executes non-steering events (event, argument)
+	 */
+	public InputReplayer(InputRecording recording, ObjIntConsumer<InputEvent> executor) {
+		checkNotNull(recording);
+		checkNotNull(executor);
+		this.recording = recording;
+		this.executor = executor;
+	}
+
+	public InputRecording recording() {
+		return recording;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * Restores the session start conditions and starts playing. The game must have credit.
+	 * 
+	 * @param gc game controller
+	 */
+	public void startSession(GameController gc) {
+		if (gc.game().variant() != recording.variant()) {
+			throw new IllegalStateException(
+					"Recording is for game variant %s but game is %s".formatted(recording.variant(), gc.game().variant()));
+		}
+		if (gc.isAutoControlled() != recording.autopilot()) {
+			gc.toggleAutoControlled();
+		}
+		gc.game().setImmune(recording.immune());
+		RND.setSeed(recording.seed());
+		cursor = 0;
+		tick = 0;
+		running = true;
+		gc.startPlaying();
+		Logger.info("Input replay started: {} events, seed={}", recording.size(), recording.seed());
+	}
+
+	/**
+	 * Must be called before each game update.
+	 */
+	public void beforeUpdate() {
+		if (!running) {
+			return;
+		}
+		while (cursor < recording.size() && recording.tick(cursor) <= tick) {
+			var event = recording.event(cursor);
+			if (event.isSteering()) {
+				if (recording.tick(cursor) == tick) {
+					break; // applied by steer() during this update
+				}
+				Logger.warn("Steering event {} at tick {} has not been consumed", event, recording.tick(cursor));
+			} else {
+				executor.accept(event, recording.arg(cursor));
+			}
+			++cursor;
+		}
+	}
+
+	/**
+	 * Must be called after each game update.
+	 * 
+	 * @param gc game controller
+	 * @return {@code true} if the replay has just finished
+	 */
+	public boolean afterUpdate(GameController gc) {
+		if (!running) {
+			return false;
+		}
+		var state = gc.state();
+		if (state == GameState.GAME_OVER) {
+			running = false;
+			return true;
+		}
+		if (state != GameState.INTERMISSION) {
+			++tick;
+		}
+		return false;
+	}
+
+	@Override
+	public void steer(GameLevel level, Creature guy) {
+		while (running && cursor < recording.size() && recording.tick(cursor) == tick
+				&& recording.event(cursor).isSteering()) {
+			guy.setWishDir(recording.event(cursor).direction());
+			++cursor;
+		}
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Compares the outcome of the replayed game with the recorded outcome.
+	 * 
+	 * @param game game model after replay
+	 * @return if score and level match the recording
+	 */
+	public boolean verify(GameModel game) {
+		int score = game.score().map(s -> s.points()).orElse(0);
+		int level = game.level().map(l -> l.number()).orElse(0);
+		boolean ok = score == recording.finalScore() && level == recording.finalLevel();
+		if (ok) {
+			Logger.info("Replay verified: score={}, level={}", score, level);
+		} else {
+			Logger.error("Replay diverged: score={} (recorded {}), level={} (recorded {})", score, recording.finalScore(),
+					level, recording.finalLevel());
+		}
+		return ok;
+	}
+}
@@ -25,6 +25,7 @@ package de.amr.games.pacman.ui.fx.input;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.tinylog.Logger;
 
@@ -54,6 +55,8 @@ public class KeyboardSteering implements Steering, EventHandler<KeyEvent> {
 	private Map<KeyCodeCombination, Direction> directionByKey;
 	private Direction dir;
 	private boolean enabled = false;
+	private Consumer<Direction> onSteer = dir -> {
+	};
 
 	public KeyboardSteering(KeyCodeCombination up, KeyCodeCombination down, KeyCodeCombination left,
 			KeyCodeCombination right) {
@@ -73,6 +76,7 @@ public class KeyboardSteering implements Steering, EventHandler<KeyEvent> {
 	public void steer(GameLevel level, Creature guy) {
 		if (dir != null) {
 			guy.setWishDir(dir);
+			onSteer.accept(dir);
 			dir = null;
 		}
 	}
@@ -98,6 +102,13 @@ public class KeyboardSteering implements Steering, EventHandler<KeyEvent> {
 		}
 	}
 
+	/**
+	 * @param onSteer called with the direction each time Pac-Man gets steered
+	 */
+	public void setOnSteer(Consumer<Direction> onSteer) {
+		this.onSteer = onSteer;
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return enabled;
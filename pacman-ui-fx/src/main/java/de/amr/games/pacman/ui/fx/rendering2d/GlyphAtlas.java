@@ -0,0 +1,224 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.rendering2d;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Glyphs of a font in a given color, rasterized once into an image. Text and numbers are drawn glyph by glyph from
+ * that image without creating strings or fonts.
+ * <p>
+ * The glyphs are rasterized at the integer scale factor set by {@link #setScaling(double)} such that they stay sharp
+ * when the canvas is scaled.
+ * 
+ * @author Armin Reichert
+ */
+public class GlyphAtlas {
+
+	private static final char FIRST_CHAR = 32;
+	private static final char LAST_CHAR = 126;
+	private static final char COPYRIGHT = '\u00A9';
+	private static final int NUM_GLYPHS = LAST_CHAR - FIRST_CHAR + 2; // includes copyright sign
+	private static final int COLUMNS = 16;
+	private static final int MAX_FACTOR = 8;
+
+	/** Maximum number of atlases kept in the cache. */
+	public static final int ATLAS_CACHE_SIZE = 32;
+
+	private record Key(Font font, Color color, int factor) {
+	}
+
+	private static final Map<Key, GlyphAtlas> ATLASES = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, GlyphAtlas> eldest) {
+			return size() > ATLAS_CACHE_SIZE;
+		}
+	};
+	private static int currentFactor = 1;
+
+	/**
+	 * Sets the scale factor for atlases used from now on.
+	 * 
+	 * @param scaling scaling from canvas coordinates to device pixels
+	 */
+	public static void setScaling(double scaling) {
+		currentFactor = Math.max(1, Math.min(MAX_FACTOR, (int) Math.ceil(scaling - 1e-3)));
+	}
+
+	/**
+	 * @param font  font
+	 * @param color text color
+	 * @return atlas for the given font and color at the current scale factor, created on first use. The least
+	 *         recently used atlas is evicted when the cache is full.
+	 */
+	public static GlyphAtlas of(Font font, Color color) {
+		return ATLASES.computeIfAbsent(new Key(font, color, currentFactor),
+				key -> new GlyphAtlas(key.font(), key.color(), key.factor()));
+	}
+
+	public static boolean isSupported(char ch) {
+		return (ch >= FIRST_CHAR && ch <= LAST_CHAR) || ch == COPYRIGHT;
+	}
+
+	private static int glyphIndex(char ch) {
+		return ch == COPYRIGHT ? NUM_GLYPHS - 1 : ch - FIRST_CHAR;
+	}
+
+	private static char glyphChar(int index) {
+		return index == NUM_GLYPHS - 1 ? COPYRIGHT : (char) (FIRST_CHAR + index);
+	}
+
+	private final Font font;
+	private final Color color;
+	private final int factor;
+	private final double[] advances = new double[NUM_GLYPHS];
+	private final double cellWidth;
+	private final double cellHeight;
+	private final double ascent;
+	private final Image image;
+
+	private GlyphAtlas(Font font, Color color, int factor) {
+		this.font = font;
+		this.color = color;
+		this.factor = factor;
+
+		var text = new Text();
+		text.setFont(font);
+		double maxAdvance = 0;
+		for (int i = 0; i < NUM_GLYPHS; ++i) {
+			text.setText(String.valueOf(glyphChar(i)));
+			advances[i] = text.getLayoutBounds().getWidth();
+			maxAdvance = Math.max(maxAdvance, advances[i]);
+		}
+		text.setText("0");
+		ascent = Math.ceil(text.getBaselineOffset());
+		cellHeight = Math.ceil(text.getLayoutBounds().getHeight());
+		cellWidth = Math.ceil(maxAdvance) + 1;
+
+		int rows = (NUM_GLYPHS + COLUMNS - 1) / COLUMNS;
+		var canvas = new Canvas(COLUMNS * cellWidth * factor, rows * cellHeight * factor);
+		var g = canvas.getGraphicsContext2D();
+		g.scale(factor, factor);
+		g.setFont(font);
+		g.setFill(color);
+		for (int i = 0; i < NUM_GLYPHS; ++i) {
+			g.fillText(String.valueOf(glyphChar(i)), (i % COLUMNS) * cellWidth, (i / COLUMNS) * cellHeight + ascent);
+		}
+		var params = new SnapshotParameters();
+		params.setFill(Color.TRANSPARENT);
+		image = canvas.snapshot(params, null);
+	}
+
+	public Font font() {
+		return font;
+	}
+
+	public Color color() {
+		return color;
+	}
+
+	public int factor() {
+		return factor;
+	}
+
+	/**
+	 * @param ch character
+	 * @return horizontal advance of the character in canvas coordinates
+	 */
+	public double advance(char ch) {
+		return isSupported(ch) ? advances[glyphIndex(ch)] : 0;
+	}
+
+	/**
+	 * Draws a single character. Unsupported characters are skipped.
+	 * 
+	 * @return x position after the character
+	 */
+	public double drawChar(GraphicsContext g, char ch, double x, double y) {
+		if (!isSupported(ch)) {
+			return x;
+		}
+		int i = glyphIndex(ch);
+		double sx = (i % COLUMNS) * cellWidth;
+		double sy = (i / COLUMNS) * cellHeight;
+		g.drawImage(image, sx * factor, sy * factor, cellWidth * factor, cellHeight * factor, x, y - ascent, cellWidth,
+				cellHeight);
+		return x + advances[i];
+	}
+
+	/**
+	 * Draws text with its baseline at the given y position.
+	 * 
+	 * @return x position after the text
+	 */
+	public double drawText(GraphicsContext g, CharSequence text, double x, double y) {
+		for (int i = 0; i < text.length(); ++i) {
+			x = drawChar(g, text.charAt(i), x, y);
+		}
+		return x;
+	}
+
+	/**
+	 * Draws a decimal number right-aligned in a field of the given width, padded with leading zeros to the given minimum
+	 * number of digits (like {@code "%{fieldWidth}s".formatted("%0{minDigits}d".formatted(value))}).
+	 * 
+	 * @param value      number
+	 * @param minDigits  minimum number of digits
+	 * @param fieldWidth field width in characters, numbers wider than the field are not truncated
+	 * @return x position after the number
+	 */
+	public double drawNumber(GraphicsContext g, long value, int minDigits, int fieldWidth, double x, double y) {
+		boolean negative = value < 0;
+		// work with negative magnitude to handle Long.MIN_VALUE
+		long magnitude = negative ? value : -value;
+		int digits = 1;
+		long divisor = 1;
+		while (magnitude / divisor <= -10) {
+			divisor *= 10;
+			++digits;
+		}
+		int padding = Math.max(0, minDigits - digits);
+		int width = digits + padding + (negative ? 1 : 0);
+		x += Math.max(0, fieldWidth - width) * advance('0');
+		if (negative) {
+			x = drawChar(g, '-', x, y);
+		}
+		for (int i = 0; i < padding; ++i) {
+			x = drawChar(g, '0', x, y);
+		}
+		for (; divisor > 0; divisor /= 10) {
+			x = drawChar(g, (char) ('0' - (magnitude / divisor) % 10), x, y);
+		}
+		return x;
+	}
+}
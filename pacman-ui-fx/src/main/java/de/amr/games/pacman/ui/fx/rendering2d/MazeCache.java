@@ -0,0 +1,166 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.rendering2d;
+
+import static de.amr.games.pacman.lib.Globals.TS;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.world.World;
+import de.amr.games.pacman.ui.fx.app.AppRes;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Maze image with eaten food and hidden energizers already cleared. The image is created when the world changes and
+ * then updated incrementally: each eaten pellet clears one tile, a change of the energizer blinking state clears or
+ * restores the energizer tiles. So drawing the maze in the steady state is a single image drawing operation.
+ * 
+ * @author Armin Reichert
+ */
+public class MazeCache {
+
+	private static final int[] BLACK_TILE = new int[TS * TS];
+
+	static {
+		Color black = AppRes.ArcadeTheme.BLACK;
+		int argb = 0xFF << 24 | (int) Math.round(black.getRed() * 255) << 16 | (int) Math.round(black.getGreen() * 255) << 8
+				| (int) Math.round(black.getBlue() * 255);
+		Arrays.fill(BLACK_TILE, argb);
+	}
+
+	private WritableImage image;
+	private World world;
+	private Image source;
+	private int sourceX;
+	private int sourceY;
+	private Vector2i[] uneatenFoodTiles;
+	private int numUneatenFoodTiles;
+	private Vector2i[] energizerTiles;
+	private boolean energizersVisible;
+	private long rebuildCount;
+
+	/**
+	 * Forces recreation of the maze image at the next drawing.
+	 */
+	public void invalidate() {
+		world = null;
+	}
+
+	/**
+	 * @return number of times the maze image has been created
+	 */
+	public long rebuildCount() {
+		return rebuildCount;
+	}
+
+	/**
+	 * Draws the maze with the current food state of the world.
+	 * 
+	 * @param g                 graphics context
+	 * @param world             world (identity decides about cache validity)
+	 * @param source            image containing the full maze
+	 * @param sx                x-coordinate of maze inside source image
+	 * @param sy                y-coordinate of maze inside source image
+	 * @param width             maze width
+	 * @param height            maze height
+	 * @param x                 x position where maze is drawn
+	 * @param y                 y position where maze is drawn
+	 * @param energizersVisible if energizers are visible (blinking)
+	 */
+	public void draw(GraphicsContext g, World world, Image source, int sx, int sy, int width, int height, int x, int y,
+			boolean energizersVisible) {
+		if (world != this.world || source != this.source || sx != sourceX || sy != sourceY) {
+			rebuild(world, source, sx, sy, width, height);
+		}
+		clearEatenFood(x, y);
+		if (energizersVisible != this.energizersVisible) {
+			this.energizersVisible = energizersVisible;
+			for (var tile : energizerTiles) {
+				if (energizersVisible && !world.containsEatenFood(tile)) {
+					restoreTile(tile, x, y);
+				} else {
+					clearTile(tile, x, y);
+				}
+			}
+		}
+		g.drawImage(image, x, y);
+	}
+
+	private void rebuild(World world, Image source, int sx, int sy, int width, int height) {
+		this.world = world;
+		this.source = source;
+		this.sourceX = sx;
+		this.sourceY = sy;
+		if (image == null || image.getWidth() != width || image.getHeight() != height) {
+			image = new WritableImage(width, height);
+		}
+		image.getPixelWriter().setPixels(0, 0, width, height, source.getPixelReader(), sx, sy);
+		uneatenFoodTiles = world.tiles().filter(tile -> world.containsFood(tile) || world.containsEatenFood(tile))
+				.toArray(Vector2i[]::new);
+		numUneatenFoodTiles = uneatenFoodTiles.length;
+		energizerTiles = world.energizerTiles().toArray(Vector2i[]::new);
+		energizersVisible = true;
+		++rebuildCount;
+	}
+
+	private void clearEatenFood(int x, int y) {
+		int i = 0;
+		while (i < numUneatenFoodTiles) {
+			var tile = uneatenFoodTiles[i];
+			if (world.containsEatenFood(tile)) {
+				clearTile(tile, x, y);
+				// swap with last uneaten tile
+				uneatenFoodTiles[i] = uneatenFoodTiles[--numUneatenFoodTiles];
+				uneatenFoodTiles[numUneatenFoodTiles] = tile;
+			} else {
+				++i;
+			}
+		}
+	}
+
+	private void clearTile(Vector2i tile, int x, int y) {
+		int tx = TS * tile.x() - x;
+		int ty = TS * tile.y() - y;
+		if (isInside(tx, ty)) {
+			image.getPixelWriter().setPixels(tx, ty, TS, TS, PixelFormat.getIntArgbInstance(), BLACK_TILE, 0, TS);
+		}
+	}
+
+	private void restoreTile(Vector2i tile, int x, int y) {
+		int tx = TS * tile.x() - x;
+		int ty = TS * tile.y() - y;
+		if (isInside(tx, ty)) {
+			image.getPixelWriter().setPixels(tx, ty, TS, TS, source.getPixelReader(), sourceX + tx, sourceY + ty);
+		}
+	}
+
+	private boolean isInside(int tx, int ty) {
+		return tx >= 0 && ty >= 0 && tx + TS <= image.getWidth() && ty + TS <= image.getHeight();
+	}
+}
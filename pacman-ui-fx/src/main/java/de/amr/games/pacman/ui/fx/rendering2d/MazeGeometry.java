@@ -0,0 +1,195 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.rendering2d;
+
+import static de.amr.games.pacman.lib.Globals.TS;
+import static de.amr.games.pacman.lib.Globals.v2i;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.world.World;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Maze geometry for renderers drawing the maze from primitives. Wall tiles are merged into maximal rectangles when the
+ * world changes, so the walls are drawn as a single path. The food tiles are kept in an index from which eaten food is
+ * removed, so each frame only visits the uneaten food tiles.
+ * 
+ * @author Armin Reichert
+ */
+public class MazeGeometry {
+
+	private World world;
+	private int[] wallRects; // x, y, width, height (tiles) per rectangle
+	private Vector2i[] pelletTiles;
+	private int numPellets;
+	private Vector2i[] energizerTiles;
+	private int numEnergizers;
+	private long rebuildCount;
+
+	/**
+	 * @return number of times the geometry has been computed
+	 */
+	public long rebuildCount() {
+		return rebuildCount;
+	}
+
+	/**
+	 * @return number of rectangles the walls are composed of
+	 */
+	public int numWallRects() {
+		return wallRects != null ? wallRects.length / 4 : 0;
+	}
+
+	private void update(World world) {
+		if (world != this.world) {
+			rebuild(world);
+		}
+	}
+
+	private void rebuild(World world) {
+		this.world = world;
+		wallRects = mergeWalls(world);
+		pelletTiles = world.tiles().filter(world::containsFood).filter(tile -> !world.isEnergizerTile(tile))
+				.toArray(Vector2i[]::new);
+		numPellets = pelletTiles.length;
+		energizerTiles = world.tiles().filter(world::containsFood).filter(world::isEnergizerTile).toArray(Vector2i[]::new);
+		numEnergizers = energizerTiles.length;
+		++rebuildCount;
+	}
+
+	/*
+	 * Greedy merge: each wall tile not yet covered starts a rectangle which is first extended to the right and then
+	 * downwards as long as all tiles of the next row segment are uncovered walls.
+	 */
+	private static int[] mergeWalls(World world) {
+		int cols = world.numCols();
+		int rows = world.numRows();
+		var wall = new boolean[rows][cols];
+		for (int row = 0; row < rows; ++row) {
+			for (int col = 0; col < cols; ++col) {
+				wall[row][col] = world.isWall(v2i(col, row));
+			}
+		}
+		var rects = new int[4 * rows * cols];
+		int n = 0;
+		for (int row = 0; row < rows; ++row) {
+			for (int col = 0; col < cols; ++col) {
+				if (!wall[row][col]) {
+					continue;
+				}
+				int width = 1;
+				while (col + width < cols && wall[row][col + width]) {
+					++width;
+				}
+				int height = 1;
+				while (row + height < rows && isWallSegment(wall[row + height], col, width)) {
+					++height;
+				}
+				for (int r = row; r < row + height; ++r) {
+					for (int c = col; c < col + width; ++c) {
+						wall[r][c] = false;
+					}
+				}
+				rects[n++] = col;
+				rects[n++] = row;
+				rects[n++] = width;
+				rects[n++] = height;
+			}
+		}
+		var result = new int[n];
+		System.arraycopy(rects, 0, result, 0, n);
+		return result;
+	}
+
+	private static boolean isWallSegment(boolean[] wallRow, int col, int width) {
+		for (int c = col; c < col + width; ++c) {
+			if (!wallRow[c]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draws all walls with a single fill operation.
+	 * 
+	 * @param g     graphics context
+	 * @param world world
+	 * @param color wall color
+	 */
+	public void drawWalls(GraphicsContext g, World world, Color color) {
+		update(world);
+		g.setFill(color);
+		g.beginPath();
+		for (int i = 0; i < wallRects.length; i += 4) {
+			g.rect(wallRects[i] * TS, wallRects[i + 1] * TS, wallRects[i + 2] * TS, wallRects[i + 3] * TS);
+		}
+		g.fill();
+	}
+
+	/**
+	 * Draws the uneaten pellets with a single fill operation and the uneaten energizers if visible.
+	 * 
+	 * @param g                 graphics context
+	 * @param world             world
+	 * @param color             food color
+	 * @param energizersVisible if energizers are drawn
+	 */
+	public void drawFood(GraphicsContext g, World world, Color color, boolean energizersVisible) {
+		update(world);
+		numPellets = removeEatenFood(pelletTiles, numPellets);
+		numEnergizers = removeEatenFood(energizerTiles, numEnergizers);
+		g.setFill(color);
+		g.beginPath();
+		for (int i = 0; i < numPellets; ++i) {
+			var tile = pelletTiles[i];
+			g.rect(tile.x() * TS + 3, tile.y() * TS + 3, 2, 2);
+		}
+		g.fill();
+		if (energizersVisible) {
+			for (int i = 0; i < numEnergizers; ++i) {
+				var tile = energizerTiles[i];
+				g.fillOval(tile.x() * TS, tile.y() * TS, TS, TS);
+			}
+		}
+	}
+
+	/*
+	 * Moves eaten food tiles behind the uneaten ones and returns the new number of uneaten tiles.
+	 */
+	private int removeEatenFood(Vector2i[] tiles, int count) {
+		int i = 0;
+		while (i < count) {
+			var tile = tiles[i];
+			if (world.containsFood(tile)) {
+				++i;
+			} else {
+				tiles[i] = tiles[--count];
+				tiles[count] = tile;
+			}
+		}
+		return count;
+	}
+}
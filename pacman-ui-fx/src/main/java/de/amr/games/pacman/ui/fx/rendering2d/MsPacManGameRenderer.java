@@ -58,6 +58,9 @@ public class MsPacManGameRenderer extends SpritesheetRenderer {
 	private static final int SECOND_COLUMN = 228;
 	private static final int THIRD_COLUMN = 456;
 
+	private final MazeCache mazeCache = new MazeCache();
+	private final Font copyrightSymbolFont = Font.font("Dialog", 11);
+
 	public MsPacManGameRenderer() {
 		super(AppRes.Graphics.MsPacManGame.spritesheet);
 	}
@@ -124,14 +127,11 @@ public class MsPacManGameRenderer extends SpritesheetRenderer {
 			} else {
 				drawSprite(g, spritesheet.region(SECOND_COLUMN, h * (mazeNumber - 1), w, h), x, y);
 			}
+			mazeCache.invalidate();
 		} else {
-			drawSprite(g, spritesheet.region(0, h * (mazeNumber - 1), w, h), x, y);
-			world.tiles().filter(world::containsEatenFood).forEach(tile -> hideTileContent(g, tile));
 			var energizerBlinking = world.animation(GameModel.AK_MAZE_ENERGIZER_BLINKING);
 			boolean energizerVisible = energizerBlinking.isPresent() && (boolean) energizerBlinking.get().frame();
-			if (!energizerVisible) {
-				world.energizerTiles().forEach(tile -> hideTileContent(g, tile));
-			}
+			mazeCache.draw(g, world, spritesheet.source(), 0, h * (mazeNumber - 1), w, h, x, y, energizerVisible);
 		}
 	}
 
@@ -144,12 +144,10 @@ public class MsPacManGameRenderer extends SpritesheetRenderer {
 		int x = TS * (6);
 		int y = TS * (tileY - 1);
 		g.drawImage(AppRes.Graphics.MsPacManGame.logo, x, y + 2, TS * (4) - 2, TS * (4));
-		g.setFill(AppRes.ArcadeTheme.RED);
-		g.setFont(Font.font("Dialog", 11));
-		g.fillText("\u00a9", x + TS * (5), y + TS * (2) + 2); // (c) symbol
-		g.setFont(AppRes.Fonts.arcade);
-		g.fillText("MIDWAY MFG CO", x + TS * (7), y + TS * (2));
-		g.fillText("1980/1981", x + TS * (8), y + TS * (4));
+		var color = AppRes.ArcadeTheme.RED;
+		Rendering2D.drawText(g, "\u00a9", color, copyrightSymbolFont, x + TS * (5), y + TS * (2) + 2); // (c) symbol
+		Rendering2D.drawText(g, "MIDWAY MFG CO", color, AppRes.Fonts.arcade, x + TS * (7), y + TS * (2));
+		Rendering2D.drawText(g, "1980/1981", color, AppRes.Fonts.arcade, x + TS * (8), y + TS * (4));
 	}
 
 	// Animations
@@ -258,10 +256,11 @@ public class MsPacManGameRenderer extends SpritesheetRenderer {
 				if (clap.isVisible()) {
 					drawSpriteCenteredOverBox(g, sprite, clap.position().x(), clap.position().y());
 				}
-				g.setFont(AppRes.Fonts.arcade);
-				g.setFill(AppRes.ArcadeTheme.PALE);
-				g.fillText(clap.number(), clap.position().x() + sprite.getWidth() - 25, clap.position().y() + 18);
-				g.fillText(clap.text(), clap.position().x() + sprite.getWidth(), clap.position().y());
+				var color = AppRes.ArcadeTheme.PALE;
+				Rendering2D.drawText(g, clap.number(), color, AppRes.Fonts.arcade, clap.position().x() + sprite.getWidth() - 25,
+						clap.position().y() + 18);
+				Rendering2D.drawText(g, clap.text(), color, AppRes.Fonts.arcade, clap.position().x() + sprite.getWidth(),
+						clap.position().y());
 			});
 		}
 	}
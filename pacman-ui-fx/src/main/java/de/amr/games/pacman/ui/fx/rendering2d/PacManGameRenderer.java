@@ -46,6 +46,8 @@ public class PacManGameRenderer extends SpritesheetRenderer {
 	private static final Order<Direction> DIR_ORDER = new Order<>(//
 			Direction.RIGHT, Direction.LEFT, Direction.UP, Direction.DOWN);
 
+	private final MazeCache mazeCache = new MazeCache();
+
 	public PacManGameRenderer() {
 		super(AppRes.Graphics.PacManGame.spritesheet);
 	}
@@ -97,14 +99,12 @@ public class PacManGameRenderer extends SpritesheetRenderer {
 		if (flashingAnimation.isPresent() && flashingAnimation.get().isRunning()) {
 			var flashing = (boolean) flashingAnimation.get().frame();
 			g.drawImage(flashing ? AppRes.Graphics.PacManGame.flashingMaze : AppRes.Graphics.PacManGame.emptyMaze, x, y);
+			mazeCache.invalidate();
 		} else {
-			g.drawImage(AppRes.Graphics.PacManGame.fullMaze, x, y);
-			world.tiles().filter(world::containsEatenFood).forEach(tile -> hideTileContent(g, tile));
 			var energizerBlinking = world.animation(GameModel.AK_MAZE_ENERGIZER_BLINKING);
 			boolean energizerVisible = energizerBlinking.isPresent() && (boolean) energizerBlinking.get().frame();
-			if (!energizerVisible) {
-				world.energizerTiles().forEach(tile -> hideTileContent(g, tile));
-			}
+			var maze = AppRes.Graphics.PacManGame.fullMaze;
+			mazeCache.draw(g, world, maze, 0, 0, (int) maze.getWidth(), (int) maze.getHeight(), x, y, energizerVisible);
 		}
 	}
 
@@ -25,7 +25,6 @@ SOFTWARE.
 package de.amr.games.pacman.ui.fx.rendering2d;
 
 import static de.amr.games.pacman.lib.Globals.TS;
-import static de.amr.games.pacman.lib.Globals.v2i;
 
 import java.util.List;
 import java.util.Optional;
@@ -57,9 +56,12 @@ public class PacManTestRenderer implements Rendering2D {
 	static final MazeColoring MAZE_COLORS = new MazeColoring(Color.rgb(254, 189, 180), Color.rgb(33, 33, 255).darker(),
 			Color.rgb(33, 33, 255).brighter(), Color.rgb(252, 181, 255));
 
+	private final MazeGeometry mazeGeometry = new MazeGeometry();
+	private final Font bountyFont = Font.font("Sans", 10);
+
 	@Override
 	public Font screenFont(double size) {
-		return AppRes.Fonts.pt(AppRes.Fonts.arcade, size);
+		return AppRes.Fonts.arcade(size);
 	}
 
 	@Override
@@ -191,8 +193,6 @@ public class PacManTestRenderer implements Rendering2D {
 	}
 
 	public void drawGhostBounty(GraphicsContext g, Ghost ghost) {
-		g.setStroke(AppRes.ArcadeTheme.CYAN);
-		g.setFont(Font.font("Sans", 10));
 		var text = switch (ghost.killedIndex()) {
 		case 0 -> "200";
 		case 1 -> "400";
@@ -200,7 +200,8 @@ public class PacManTestRenderer implements Rendering2D {
 		case 3 -> "1600";
 		default -> "???";
 		};
-		g.strokeText(text, ghost.position().x() - 4, ghost.position().y() + 6);
+		Rendering2D.drawText(g, text, AppRes.ArcadeTheme.CYAN, bountyFont, ghost.position().x() - 4,
+				ghost.position().y() + 6);
 	}
 
 	public void drawGhostEyes(GraphicsContext g, Ghost ghost) {
@@ -223,7 +224,7 @@ public class PacManTestRenderer implements Rendering2D {
 		var y = bonus.entity().position().y() + 8;
 		switch (bonus.state()) {
 		case Bonus.STATE_EDIBLE -> Rendering2D.drawText(g, "Bonus", Color.YELLOW, AppRes.Fonts.arcade, x - 20, y);
-		case Bonus.STATE_EATEN -> Rendering2D.drawText(g, bonus.points() + "", Color.RED, AppRes.Fonts.arcade, x - 8, y);
+		case Bonus.STATE_EATEN -> Rendering2D.drawNumber(g, bonus.points(), 1, 0, Color.RED, AppRes.Fonts.arcade, x - 8, y);
 		default -> {
 		}
 		}
@@ -232,7 +233,8 @@ public class PacManTestRenderer implements Rendering2D {
 	@Override
 	public void drawLevelCounter(GraphicsContext g, Optional<Integer> levelNumber, List<Byte> levelCounter) {
 		levelNumber.ifPresent(number -> {
-			Rendering2D.drawText(g, "Level %s".formatted(number), Color.WHITE, AppRes.Fonts.arcade, 18 * TS, 36 * TS - 2);
+			double numberX = Rendering2D.drawText(g, "Level ", Color.WHITE, AppRes.Fonts.arcade, 18 * TS, 36 * TS - 2);
+			Rendering2D.drawNumber(g, number, 1, 0, Color.WHITE, AppRes.Fonts.arcade, numberX, 36 * TS - 2);
 		});
 	}
 
@@ -267,32 +269,10 @@ public class PacManTestRenderer implements Rendering2D {
 	}
 
 	private void drawWalls(GraphicsContext g, World world, boolean flash) {
-		for (int row = 0; row < world.numRows(); ++row) {
-			for (int col = 0; col < world.numCols(); ++col) {
-				var tile = v2i(col, row);
-				if (world.isWall(tile)) {
-					g.setFill(flash ? Color.WHITE : Color.SADDLEBROWN);
-					g.fillRect(tile.x() * TS, tile.y() * TS, TS, TS);
-				}
-			}
-		}
+		mazeGeometry.drawWalls(g, world, flash ? Color.WHITE : Color.SADDLEBROWN);
 	}
 
 	private void drawFood(GraphicsContext g, int mazeNumber, World world, boolean energizersHidden) {
-		for (int row = 0; row < world.numRows(); ++row) {
-			for (int col = 0; col < world.numCols(); ++col) {
-				var tile = v2i(col, row);
-				if (world.containsFood(tile)) {
-					g.setFill(mazeColors(mazeNumber).foodColor());
-					if (world.isEnergizerTile(tile)) {
-						if (!energizersHidden) {
-							g.fillOval(tile.x() * TS, tile.y() * TS, TS, TS);
-						}
-					} else {
-						g.fillRect(tile.x() * TS + 3, tile.y() * TS + 3, 2, 2);
-					}
-				}
-			}
-		}
+		mazeGeometry.drawFood(g, world, mazeColors(mazeNumber).foodColor(), !energizersHidden);
 	}
 }
\ No newline at end of file
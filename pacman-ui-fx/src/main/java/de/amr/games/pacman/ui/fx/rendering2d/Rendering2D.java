@@ -91,10 +91,41 @@ public interface Rendering2D {
 		g.restore();
 	}
 
-	public static void drawText(GraphicsContext g, String text, Color color, Font font, double x, double y) {
-		g.setFont(font);
-		g.setFill(color);
-		g.fillText(text, x, y);
+	/**
+	 * Draws text using the glyph atlas of the given font and color. Text containing characters not in the atlas is drawn
+	 * using the font directly.
+	 * 
+	 * @return x position after the text (only exact when drawn from glyph atlas)
+	 */
+	public static double drawText(GraphicsContext g, String text, Color color, Font font, double x, double y) {
+		for (int i = 0; i < text.length(); ++i) {
+			if (!GlyphAtlas.isSupported(text.charAt(i))) {
+				g.setFont(font);
+				g.setFill(color);
+				g.fillText(text, x, y);
+				return x;
+			}
+		}
+		return GlyphAtlas.of(font, color).drawText(g, text, x, y);
+	}
+
+	/**
+	 * Draws a number without creating a string, see {@link GlyphAtlas#drawNumber}.
+	 * 
+	 * @return x position after the number
+	 */
+	public static double drawNumber(GraphicsContext g, long value, int minDigits, int fieldWidth, Color color, Font font,
+			double x, double y) {
+		return GlyphAtlas.of(font, color).drawNumber(g, value, minDigits, fieldWidth, x, y);
+	}
+
+	/**
+	 * Called by a game scene before it renders a frame.
+	 * 
+	 * @param scaling scaling from scene coordinates to device pixels
+	 */
+	default void beginFrame(double scaling) {
+		GlyphAtlas.setScaling(scaling);
 	}
 
 	default void fillCanvas(GraphicsContext g, Color color) {
@@ -109,10 +140,10 @@ public interface Rendering2D {
 
 	default void drawScore(GraphicsContext g, Score score, String title, Font font, Color color, double x, double y) {
 		drawText(g, title, color, font, x, y);
-		var pointsText = "%02d".formatted(score.points());
-		drawText(g, "%7s".formatted(pointsText), color, font, x, y + TS + 1);
+		drawNumber(g, score.points(), 2, 7, color, font, x, y + TS + 1);
 		if (score.points() != 0) {
-			drawText(g, "L%d".formatted(score.levelNumber()), color, font, x + TS * (8), y + TS + 1);
+			double numberX = drawText(g, "L", color, font, x + TS * (8), y + TS + 1);
+			drawNumber(g, score.levelNumber(), 1, 0, color, font, numberX, y + TS + 1);
 		}
 	}
 
@@ -0,0 +1,134 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.rendering2d;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Spritesheet regions pre-scaled to device pixels using nearest-neighbour sampling. Each image has exactly the size the
+ * region covers on the screen, so it can be drawn pixel by pixel without further resampling. Images are created lazily
+ * on first use. The number of images created per frame is limited, so a change of the scaling does not stall a frame;
+ * regions exceeding the budget are drawn from the spritesheet until a later frame.
+ * 
+ * @author Armin Reichert
+ */
+public class ScaledSpriteCache {
+
+	private static final int MAX_BUILDS_PER_FRAME = 8;
+
+	private final Image source;
+	private final double scaling;
+	private final Map<Rectangle2D, Image> images = new HashMap<>();
+	private int buildBudget = MAX_BUILDS_PER_FRAME;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param source spritesheet image
+	 * @param scaling scaling from spritesheet pixels to device pixels
+	 */
+	public ScaledSpriteCache(Image source, double scaling) {
+		if (scaling <= 0) {
+			throw new IllegalArgumentException("Scaling must be positive but is %f".formatted(scaling));
+		}
+		this.source = source;
+		this.scaling = scaling;
+	}
+
+	public double scaling() {
+		return scaling;
+	}
+
+	public int size() {
+		return images.size();
+	}
+
+	public long hits() {
+		return hits;
+	}
+
+	public long misses() {
+		return misses;
+	}
+
+	/**
+	 * Resets the per-frame image creation budget.
+	 */
+	public void beginFrame() {
+		buildBudget = MAX_BUILDS_PER_FRAME;
+	}
+
+	/**
+	 * @param r spritesheet region
+	 * @return pre-scaled image of the region or {@code null} if it is not available in this frame
+	 */
+	public Image get(Rectangle2D r) {
+		var image = images.get(r);
+		if (image != null) {
+			++hits;
+			return image;
+		}
+		++misses;
+		if (buildBudget == 0) {
+			return null;
+		}
+		--buildBudget;
+		image = createScaledImage(r);
+		images.put(r, image);
+		return image;
+	}
+
+	private Image createScaledImage(Rectangle2D r) {
+		int sx = (int) r.getMinX();
+		int sy = (int) r.getMinY();
+		int w = (int) r.getWidth();
+		int h = (int) r.getHeight();
+		var format = PixelFormat.getIntArgbInstance();
+		var src = new int[w * h];
+		source.getPixelReader().getPixels(sx, sy, w, h, format, src, 0, w);
+		int sw = Math.max(1, (int) Math.round(w * scaling));
+		int sh = Math.max(1, (int) Math.round(h * scaling));
+		var srcCols = new int[sw];
+		for (int x = 0; x < sw; ++x) {
+			srcCols[x] = Math.min(w - 1, (int) ((x + 0.5) * w / sw));
+		}
+		var dst = new int[sw * sh];
+		for (int y = 0; y < sh; ++y) {
+			int srcRow = Math.min(h - 1, (int) ((y + 0.5) * h / sh)) * w;
+			int dstRow = y * sw;
+			for (int x = 0; x < sw; ++x) {
+				dst[dstRow + x] = src[srcRow + srcCols[x]];
+			}
+		}
+		var image = new WritableImage(sw, sh);
+		image.getPixelWriter().setPixels(0, 0, sw, sh, format, dst, 0, sw);
+		return image;
+	}
+}
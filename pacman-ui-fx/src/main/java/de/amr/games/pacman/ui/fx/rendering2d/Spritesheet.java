@@ -23,6 +23,9 @@ SOFTWARE.
  */
 package de.amr.games.pacman.ui.fx.rendering2d;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.WritableImage;
@@ -34,8 +37,22 @@ import javafx.scene.image.WritableImage;
  */
 public class Spritesheet {
 
+	/** Maximum number of sub-images kept in the cache. */
+	public static final int SUBIMAGE_CACHE_SIZE = 128;
+
+	private record Region(int x, int y, int width, int height) {
+	}
+
 	protected final Image source;
 	protected final int raster;
+	private final Map<Region, Image> subImageCache = new LinkedHashMap<>(32, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Region, Image> eldest) {
+			return size() > SUBIMAGE_CACHE_SIZE;
+		}
+	};
+	private long subImageHits;
+	private long subImageMisses;
 
 	/**
 	 * @param image  image containing the sprites
@@ -60,7 +77,7 @@ public class Spritesheet {
 
 	/**
 	 * @param r spritesheet region
-	 * @return image (copy) of spritesheet region
+	 * @return image of spritesheet region, shared between all callers requesting the same region
 	 */
 	public Image subImage(Rectangle2D r) {
 		return subImage((int) r.getMinX(), (int) r.getMinY(), (int) r.getWidth(), (int) r.getHeight());
@@ -71,12 +88,32 @@ public class Spritesheet {
 	 * @param y      region y-coordinate
 	 * @param width  region width
 	 * @param height region height
-	 * @return image (copy) of spritesheet region
+	 * @return image of spritesheet region, shared between all callers requesting the same region. Do not modify!
 	 */
-	public Image subImage(int x, int y, int width, int height) {
-		var image = new WritableImage(width, height);
-		image.getPixelWriter().setPixels(0, 0, width, height, source.getPixelReader(), x, y);
-		return image;
+	public synchronized Image subImage(int x, int y, int width, int height) {
+		var region = new Region(x, y, width, height);
+		var image = subImageCache.get(region);
+		if (image != null) {
+			++subImageHits;
+			return image;
+		}
+		++subImageMisses;
+		var copy = new WritableImage(width, height);
+		copy.getPixelWriter().setPixels(0, 0, width, height, source.getPixelReader(), x, y);
+		subImageCache.put(region, copy);
+		return copy;
+	}
+
+	public synchronized long subImageHits() {
+		return subImageHits;
+	}
+
+	public synchronized long subImageMisses() {
+		return subImageMisses;
+	}
+
+	public synchronized int subImageCacheSize() {
+		return subImageCache.size();
 	}
 
 	/**
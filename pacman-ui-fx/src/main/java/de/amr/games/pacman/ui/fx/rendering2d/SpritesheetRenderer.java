@@ -26,7 +26,9 @@ package de.amr.games.pacman.ui.fx.rendering2d;
 import static de.amr.games.pacman.lib.Globals.HTS;
 import static de.amr.games.pacman.lib.Globals.TS;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import de.amr.games.pacman.model.actors.Bonus;
@@ -38,6 +40,7 @@ import de.amr.games.pacman.ui.fx.app.AppRes;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.transform.Affine;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
@@ -48,12 +51,48 @@ import javafx.scene.text.FontWeight;
  */
 public abstract class SpritesheetRenderer implements Rendering2D {
 
+	/** Maximum number of scalings cached at the same time (e.g. main scene and picture-in-picture view). */
+	private static final int MAX_SCALED_CACHES = 2;
+
 	protected final Spritesheet spritesheet;
+	private final Font excessLivesFont = Font.font("Serif", FontWeight.BOLD, 8);
+	private final Map<Double, ScaledSpriteCache> scaledCaches = new LinkedHashMap<>(4, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Double, ScaledSpriteCache> eldest) {
+			return size() > MAX_SCALED_CACHES;
+		}
+	};
+	private ScaledSpriteCache scaledSprites;
+	private double deviceScaling = 1;
+	private final Affine transform = new Affine();
 
 	protected SpritesheetRenderer(Spritesheet spritesheet) {
 		this.spritesheet = spritesheet;
 	}
 
+	/**
+	 * Selects the sprite cache for the given device scaling. Cached sprites are drawn in device pixels, so they are not
+	 * resampled again by the canvas transform.
+	 */
+	@Override
+	public void beginFrame(double scaling) {
+		Rendering2D.super.beginFrame(scaling);
+		if (scaling <= 1) {
+			scaledSprites = null;
+			return;
+		}
+		deviceScaling = scaling;
+		scaledSprites = scaledCaches.computeIfAbsent(scaling, s -> new ScaledSpriteCache(spritesheet.source(), s));
+		scaledSprites.beginFrame();
+	}
+
+	/**
+	 * @return sprite cache for the current device scaling or {@code null} if sprites are drawn from the spritesheet
+	 */
+	public ScaledSpriteCache scaledSprites() {
+		return scaledSprites;
+	}
+
 	public Spritesheet spritesheet() {
 		return spritesheet;
 	}
@@ -64,8 +103,7 @@ public abstract class SpritesheetRenderer implements Rendering2D {
 
 	@Override
 	public Font screenFont(double size) {
-		var font = AppRes.Fonts.arcade;
-		return size == font.getSize() ? font : AppRes.Fonts.pt(font, size);
+		return AppRes.Fonts.arcade(size);
 	}
 
 	public abstract Rectangle2D ghostValueRegion(int index);
@@ -86,9 +124,35 @@ public abstract class SpritesheetRenderer implements Rendering2D {
 	 */
 	public void drawSprite(GraphicsContext g, Rectangle2D r, double x, double y) {
 		if (r != null) {
-			g.drawImage(spritesheet.source(), r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight(), x, y, r.getWidth(),
-					r.getHeight());
+			var scaled = scaledSprites != null ? scaledSprites.get(r) : null;
+			if (scaled == null || !drawInDevicePixels(g, scaled, x, y)) {
+				g.drawImage(spritesheet.source(), r.getMinX(), r.getMinY(), r.getWidth(), r.getHeight(), x, y, r.getWidth(),
+						r.getHeight());
+			}
+		}
+	}
+
+	/**
+	 * Draws a pre-scaled sprite unscaled at the device pixel nearest to the given position. The ratio between the device
+	 * scaling and the canvas scaling is the output scale of the screen.
+	 */
+	private boolean drawInDevicePixels(GraphicsContext g, Image scaled, double x, double y) {
+		g.getTransform(transform);
+		double sx = transform.getMxx();
+		double sy = transform.getMyy();
+		if (sx <= 0 || sy <= 0 || transform.getMxy() != 0 || transform.getMyx() != 0) {
+			return false;
 		}
+		double outputScaleX = deviceScaling / sx;
+		double outputScaleY = deviceScaling / sy;
+		double dx = Math.round((transform.getTx() + x * sx) * outputScaleX);
+		double dy = Math.round((transform.getTy() + y * sy) * outputScaleY);
+		g.save();
+		g.setTransform(1 / outputScaleX, 0, 0, 1 / outputScaleY, 0, 0);
+		g.setImageSmoothing(false);
+		g.drawImage(scaled, dx, dy);
+		g.restore();
+		return true;
 	}
 
 	public void drawSpriteCenteredOverBox(GraphicsContext g, Rectangle2D r, double x, double y) {
@@ -149,8 +213,9 @@ public abstract class SpritesheetRenderer implements Rendering2D {
 		// text indicating that more lives are available than displayed
 		int excessLives = numLivesDisplayed - maxLives;
 		if (excessLives > 0) {
-			Rendering2D.drawText(g, "+" + excessLives, AppRes.ArcadeTheme.YELLOW, Font.font("Serif", FontWeight.BOLD, 8),
-					x + TS * (10), y + TS * (1));
+			double numberX = Rendering2D.drawText(g, "+", AppRes.ArcadeTheme.YELLOW, excessLivesFont, x + TS * (10),
+					y + TS * (1));
+			Rendering2D.drawNumber(g, excessLives, 1, 0, AppRes.ArcadeTheme.YELLOW, excessLivesFont, numberX, y + TS * (1));
 		}
 	}
 }
\ No newline at end of file
@@ -45,6 +45,7 @@ public class GameSceneContext {
 	private final GameController gameController;
 	private boolean scoreVisible;
 	private boolean creditVisible;
+	private boolean levelCounterVisible;
 	private Rendering2D rendering2D;
 
 	public GameSceneContext(GameController gameController) {
@@ -75,6 +76,14 @@ public class GameSceneContext {
 		this.creditVisible = visible;
 	}
 
+	public boolean isLevelCounterVisible() {
+		return levelCounterVisible;
+	}
+
+	public void setLevelCounterVisible(boolean visible) {
+		this.levelCounterVisible = visible;
+	}
+
 	public GameController gameController() {
 		return gameController;
 	}
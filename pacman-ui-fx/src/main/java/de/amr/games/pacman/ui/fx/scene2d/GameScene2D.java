@@ -53,7 +53,13 @@ import javafx.scene.text.Text;
 import javafx.scene.transform.Scale;
 
 /**
- * Base class of all 2D scenes. Each 2D scene has its own canvas.
+ * Base class of all 2D scenes. Each 2D scene has its own stack of canvas layers:
+ * <ul>
+ * <li>static background (black container background, never redrawn),</li>
+ * <li>scene layer with maze and actors, redrawn every frame,</li>
+ * <li>HUD layer with scores, credit, level and lives counter, redrawn when its content changes,</li>
+ * <li>info layer with debug information, redrawn when made visible or when the scene declares it as animated.</li>
+ * </ul>
  * 
  * @author Armin Reichert
  */
@@ -70,23 +76,41 @@ public abstract class GameScene2D implements GameScene {
 	protected final Pane postItContainer;
 	protected final SubScene fxSubScene;
 	protected final Canvas canvas;
+	protected final Canvas hudCanvas;
+	protected final Canvas infoCanvas;
 	protected final Scale scale = new Scale();
 
+	private long hudFingerprint;
+	private long infoFingerprint;
+	private boolean hudDirty = true;
+	private boolean infoDirty = true;
+	private long sceneRedraws;
+	private long hudRedraws;
+	private long infoRedraws;
+
 	protected GameScene2D(GameController gameController) {
 		checkNotNull(gameController);
 		context = new GameSceneContext(gameController);
 
 		canvas = new Canvas();
-		canvas.getTransforms().add(scale);
+		hudCanvas = new Canvas();
+		infoCanvas = new Canvas();
 
 		postItContainer = new Pane();
-		container = new StackPane(canvas, postItContainer);
+		container = new StackPane(canvas, hudCanvas, infoCanvas, postItContainer);
 
 		fxSubScene = new SubScene(container, WIDTH, HEIGHT);
 
-		// keep canvas always the same size as the subscene
-		canvas.widthProperty().bind(fxSubScene.widthProperty());
-		canvas.heightProperty().bind(fxSubScene.heightProperty());
+		// keep canvas layers always the same size as the subscene, resizing clears their content. The layers are scaled by
+		// their graphics context transform, not by a node transform, so they are rasterized in device pixels.
+		for (var layer : new Canvas[] { canvas, hudCanvas, infoCanvas }) {
+			layer.widthProperty().bind(fxSubScene.widthProperty());
+			layer.heightProperty().bind(fxSubScene.heightProperty());
+			layer.widthProperty().addListener((py, ov, nv) -> invalidateLayers());
+			layer.heightProperty().addListener((py, ov, nv) -> invalidateLayers());
+		}
+		infoCanvas.visibleProperty().bind(infoVisiblePy);
+		infoVisiblePy.addListener((py, ov, nv) -> infoDirty = true);
 
 		// This avoids the white vertical line left of the embedded 2D game scene
 		container.setBackground(AppRes.Manager.colorBackground(Color.BLACK)); // TODO
@@ -106,6 +130,7 @@ public abstract class GameScene2D implements GameScene {
 
 	@Override
 	public void onEmbedIntoParentScene(Scene parentScene) {
+		invalidateLayers();
 		resize(parentScene.getHeight());
 	}
 
@@ -139,36 +164,146 @@ public abstract class GameScene2D implements GameScene {
 				getClass().getSimpleName());
 	}
 
+	/**
+	 * Forces redrawing of all layers in the next frame.
+	 */
+	public void invalidateLayers() {
+		hudDirty = true;
+		infoDirty = true;
+	}
+
+	public long sceneRedraws() {
+		return sceneRedraws;
+	}
+
+	public long hudRedraws() {
+		return hudRedraws;
+	}
+
+	public long infoRedraws() {
+		return infoRedraws;
+	}
+
 	@Override
 	public void render() {
+		context.rendering2D().beginFrame(deviceScaling());
 		var g = canvas.getGraphicsContext2D();
+		beginLayer(g);
+		drawScene(g);
+		++sceneRedraws;
+
+		long fingerprint = hudFingerprint();
+		if (hudDirty || fingerprint != hudFingerprint) {
+			hudFingerprint = fingerprint;
+			hudDirty = false;
+			var hud = hudCanvas.getGraphicsContext2D();
+			beginLayer(hud);
+			drawHud(hud);
+			++hudRedraws;
+		}
+
+		if (infoVisiblePy.get()) {
+			fingerprint = infoFingerprint();
+			if (fingerprint != infoFingerprint) {
+				infoFingerprint = fingerprint;
+				infoDirty = true;
+			}
+		}
+		if (infoVisiblePy.get() && (infoDirty || isInfoAnimated())) {
+			infoDirty = false;
+			var info = infoCanvas.getGraphicsContext2D();
+			beginLayer(info);
+			drawInfo(info);
+			++infoRedraws;
+		}
+	}
+
+	private void beginLayer(GraphicsContext g) {
+		g.setTransform(1, 0, 0, 1, 0, 0);
+		g.clearRect(0, 0, g.getCanvas().getWidth(), g.getCanvas().getHeight());
+		g.setTransform(scale.getX(), 0, 0, scale.getY(), 0, 0);
+	}
+
+	/**
+	 * @return scaling from scene coordinates to device pixels including the output scale of high-DPI screens
+	 */
+	protected double deviceScaling() {
+		var parentScene = fxSubScene.getScene();
+		var window = parentScene != null ? parentScene.getWindow() : null;
+		return window != null ? scale.getY() * window.getOutputScaleY() : scale.getY();
+	}
+
+	/**
+	 * Draws the scene content, e.g. the maze and the guys.
+	 * 
+	 * @param g graphics context
+	 */
+	protected abstract void drawScene(GraphicsContext g);
+
+	/**
+	 * Draws the HUD: scores, credit and level counter. Must only depend on values included in {@link #hudFingerprint()}.
+	 * 
+	 * @param g graphics context of HUD layer
+	 */
+	protected void drawHud(GraphicsContext g) {
 		var r = context.rendering2D();
-		r.fillCanvas(g, ArcadeTheme.BLACK);
 		if (context.isScoreVisible()) {
 			context.game().score()
 					.ifPresent(score -> r.drawScore(g, score, "SCORE", r.screenFont(8), ArcadeTheme.PALE, TS * (1), TS * (1)));
 			context.game().highScore().ifPresent(
 					score -> r.drawScore(g, score, "HIGH SCORE", r.screenFont(8), ArcadeTheme.PALE, TS * (16), TS * (1)));
 		}
-		drawScene(g);
 		if (context.isCreditVisible()) {
-			Rendering2D.drawText(g, "CREDIT %2d".formatted(context.game().credit()), ArcadeTheme.PALE, r.screenFont(TS),
-					TS * (2), TS * (36) - 1);
+			double x = Rendering2D.drawText(g, "CREDIT ", ArcadeTheme.PALE, r.screenFont(TS), TS * (2), TS * (36) - 1);
+			Rendering2D.drawNumber(g, context.game().credit(), 1, 2, ArcadeTheme.PALE, r.screenFont(TS), x, TS * (36) - 1);
 		}
-		if (infoVisiblePy.get()) {
-			drawInfo(g);
+		if (context.isLevelCounterVisible()) {
+			drawLevelCounter(g);
 		}
 	}
 
 	/**
-	 * Draws the scene content, e.g. the maze and the guys.
-	 * 
-	 * @param g graphics context
+	 * @return value that changes whenever the HUD content changes
 	 */
-	protected abstract void drawScene(GraphicsContext g);
+	protected long hudFingerprint() {
+		var game = context.game();
+		long fp = System.identityHashCode(context.rendering2D());
+		fp = mix(fp, context.isScoreVisible() ? 1 : 0);
+		fp = mix(fp, context.isCreditVisible() ? 1 : 0);
+		fp = mix(fp, context.isLevelCounterVisible() ? 1 : 0);
+		fp = mix(fp, game.score().map(score -> score.points()).orElse(-1));
+		fp = mix(fp, game.score().map(score -> score.levelNumber()).orElse(-1));
+		fp = mix(fp, game.highScore().map(score -> score.points()).orElse(-1));
+		fp = mix(fp, game.credit());
+		fp = mix(fp, context.level().map(GameLevel::number).orElse(0));
+		fp = mix(fp, game.levelCounter().size());
+		return fp;
+	}
+
+	/**
+	 * @return value that changes whenever the info layer content changes, by default when the level or its world changes
+	 */
+	protected long infoFingerprint() {
+		long fp = System.identityHashCode(context.rendering2D());
+		fp = mix(fp, context.level().map(System::identityHashCode).orElse(0));
+		fp = mix(fp, context.level().map(level -> System.identityHashCode(level.world())).orElse(0));
+		return fp;
+	}
+
+	protected static long mix(long fingerprint, long value) {
+		return (fingerprint ^ value) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+	}
+
+	/**
+	 * @return if the info layer has to be redrawn every frame, e.g. because it displays a frame counter
+	 */
+	protected boolean isInfoAnimated() {
+		return false;
+	}
 
 	/**
-	 * Draws scene info, e.g. maze structure and special tiles
+	 * Draws scene info, e.g. maze structure and special tiles. Must only depend on values included in
+	 * {@link #infoFingerprint()} unless {@link #isInfoAnimated()} is overridden.
 	 * 
 	 * @param g graphics context
 	 */
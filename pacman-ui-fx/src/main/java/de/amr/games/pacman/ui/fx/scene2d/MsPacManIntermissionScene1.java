@@ -51,6 +51,7 @@ public class MsPacManIntermissionScene1 extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 
 		im = new MsPacManIntermission1(context.gameController());
 		im.changeState(MsPacManIntermission1.State.FLAP);
@@ -85,6 +86,5 @@ public class MsPacManIntermissionScene1 extends GameScene2D {
 		r.drawGhost(g, im.context().inky);
 		r.drawGhost(g, im.context().pinky);
 		r.drawEntitySprite(g, im.context().heart, r.heartSprite());
-		drawLevelCounter(g);
 	}
 }
\ No newline at end of file
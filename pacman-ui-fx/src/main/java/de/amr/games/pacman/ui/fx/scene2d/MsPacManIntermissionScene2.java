@@ -50,6 +50,7 @@ public class MsPacManIntermissionScene2 extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 
 		im = new MsPacManIntermission2(context.gameController());
 		im.changeState(MsPacManIntermission2.State.FLAP);
@@ -77,6 +78,5 @@ public class MsPacManIntermissionScene2 extends GameScene2D {
 		r.drawClap(g, im.context().clapperboard);
 		r.drawPac(g, im.context().msPacMan);
 		r.drawPac(g, im.context().pacMan);
-		drawLevelCounter(g);
 	}
 }
\ No newline at end of file
@@ -54,6 +54,7 @@ public class MsPacManIntermissionScene3 extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 
 		im = new MsPacManIntermission3(context.gameController());
 		im.changeState(MsPacManIntermission3.State.FLAP);
@@ -81,6 +82,5 @@ public class MsPacManIntermissionScene3 extends GameScene2D {
 		r.drawPac(g, im.context().pacMan);
 		r.drawEntitySprite(g, im.context().stork, flyingStork.animate());
 		r.drawEntitySprite(g, im.context().bag, im.context().bagOpen ? r.juniorPacSprite() : r.blueBagSprite());
-		drawLevelCounter(g);
 	}
 }
\ No newline at end of file
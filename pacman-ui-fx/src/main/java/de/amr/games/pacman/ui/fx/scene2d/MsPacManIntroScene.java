@@ -64,6 +64,7 @@ public class MsPacManIntroScene extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 
 		intro = new MsPacManIntro(context.gameController());
 		intro.changeState(MsPacManIntro.State.START);
@@ -133,7 +134,6 @@ public class MsPacManIntroScene extends GameScene2D {
 		ic.ghosts.forEach(ghost -> r.drawGhost(g, ghost));
 		r.drawPac(g, ic.msPacMan);
 		drawCopyright(g);
-		drawLevelCounter(g);
 	}
 
 	private void drawCopyright(GraphicsContext g) {
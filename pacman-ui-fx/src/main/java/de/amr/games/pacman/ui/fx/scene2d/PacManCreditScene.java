@@ -47,6 +47,7 @@ public class PacManCreditScene extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 	}
 
 	@Override
@@ -73,6 +74,5 @@ public class PacManCreditScene extends GameScene2D {
 		drawText(g, "BONUS PAC-MAN FOR 10000", AppRes.ArcadeTheme.ROSE, normalFont, TS * (1), TS * (25));
 		drawText(g, "PTS", AppRes.ArcadeTheme.ROSE, smallFont, TS * (25), TS * (25));
 		drawMidwayCopyright(g, 4, 29);
-		drawLevelCounter(g);
 	}
 }
\ No newline at end of file
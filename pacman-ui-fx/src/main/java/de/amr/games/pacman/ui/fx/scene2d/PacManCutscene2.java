@@ -36,6 +36,7 @@ import de.amr.games.pacman.model.actors.Ghost;
 import de.amr.games.pacman.model.actors.Pac;
 import de.amr.games.pacman.ui.fx.app.Env;
 import de.amr.games.pacman.ui.fx.rendering2d.PacManGameRenderer;
+import de.amr.games.pacman.ui.fx.rendering2d.Rendering2D;
 import de.amr.games.pacman.ui.fx.rendering2d.SpritesheetRenderer;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
@@ -62,6 +63,7 @@ public class PacManCutscene2 extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 
 		var renderer = (PacManGameRenderer) context.rendering2D();
 		frame = -1;
@@ -157,20 +159,21 @@ public class PacManCutscene2 extends GameScene2D {
 			}
 			r.drawGhost(g, blinky);
 			r.drawPac(g, pac);
-			drawLevelCounter(g);
 		}
 	}
 
+	@Override
+	protected boolean isInfoAnimated() {
+		return true;
+	}
+
 	@Override
 	protected void drawInfo(GraphicsContext g) {
 		if (Env.showDebugInfoPy.get()) {
-			g.setFont(context.rendering2D().screenFont(TS));
-			g.setFill(Color.WHITE);
-			if (initialDelay > 0) {
-				g.fillText("Wait %d".formatted(initialDelay), TS * (1), TS * (5));
-			} else {
-				g.fillText("Frame %d".formatted(frame), TS * (1), TS * (5));
-			}
+			var font = context.rendering2D().screenFont(TS);
+			var label = initialDelay > 0 ? "Wait " : "Frame ";
+			double x = Rendering2D.drawText(g, label, Color.WHITE, font, TS * (1), TS * (5));
+			Rendering2D.drawNumber(g, initialDelay > 0 ? initialDelay : frame, 1, 0, Color.WHITE, font, x, TS * (5));
 		}
 	}
 }
\ No newline at end of file
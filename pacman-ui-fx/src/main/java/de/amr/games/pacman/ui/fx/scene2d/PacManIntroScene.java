@@ -66,6 +66,7 @@ public class PacManIntroScene extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(true);
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 		copyrightNote.setVisible(false);
 
 		intro = new PacManIntro(context().gameController());
@@ -127,7 +128,6 @@ public class PacManIntroScene extends GameScene2D {
 		default -> { // nothing to do
 		}
 		}
-		drawLevelCounter(g);
 	}
 
 	private void drawCopyright(GraphicsContext g) {
@@ -207,12 +207,11 @@ public class PacManIntroScene extends GameScene2D {
 		if (Boolean.TRUE.equals(intro.context().blinking.frame())) {
 			g.fillOval(TS * (col), TS * (row + 1), TS, TS);
 		}
-		g.setFill(ArcadeTheme.PALE);
-		g.setFont(r.screenFont(TS));
-		g.fillText("10", TS * (col + 2), TS * (row));
-		g.fillText("50", TS * (col + 2), TS * (row + 2));
-		g.setFont(r.screenFont(6));
-		g.fillText("PTS", TS * (col + 5), TS * (row));
-		g.fillText("PTS", TS * (col + 5), TS * (row + 2));
+		var font8 = r.screenFont(TS);
+		var font6 = r.screenFont(6);
+		drawText(g, "10", ArcadeTheme.PALE, font8, TS * (col + 2), TS * (row));
+		drawText(g, "50", ArcadeTheme.PALE, font8, TS * (col + 2), TS * (row + 2));
+		drawText(g, "PTS", ArcadeTheme.PALE, font6, TS * (col + 5), TS * (row));
+		drawText(g, "PTS", ArcadeTheme.PALE, font6, TS * (col + 5), TS * (row + 2));
 	}
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ package de.amr.games.pacman.ui.fx.scene2d;
 
 import static de.amr.games.pacman.lib.Globals.HTS;
 import static de.amr.games.pacman.lib.Globals.TS;
+import static de.amr.games.pacman.ui.fx.rendering2d.Rendering2D.drawNumber;
 import static de.amr.games.pacman.ui.fx.rendering2d.Rendering2D.drawText;
 import static de.amr.games.pacman.ui.fx.rendering2d.Rendering2D.drawTileStructure;
 
@@ -75,6 +76,7 @@ public class PlayScene2D extends GameScene2D {
 	public void init() {
 		context.setCreditVisible(!context.hasCredit());
 		context.setScoreVisible(true);
+		context.setLevelCounterVisible(true);
 	}
 
 	@Override
@@ -98,8 +100,8 @@ public class PlayScene2D extends GameScene2D {
 			var mazeNumber = level.game().mazeNumber(level.number());
 			r.drawMaze(g, 0, TS * (3), mazeNumber, level.world());
 			if (context.state() == GameState.LEVEL_TEST) {
-				drawText(g, "TEST    L%d".formatted(level.number()), AppRes.ArcadeTheme.YELLOW, r.screenFont(TS), TS * (8) + 4,
-						TS * (21));
+				double x = drawText(g, "TEST    L", AppRes.ArcadeTheme.YELLOW, r.screenFont(TS), TS * (8) + 4, TS * (21));
+				drawNumber(g, level.number(), 1, 0, AppRes.ArcadeTheme.YELLOW, r.screenFont(TS), x, TS * (21));
 			} else if (context.state() == GameState.GAME_OVER || !context.hasCredit()) {
 				drawText(g, "GAME  OVER", AppRes.ArcadeTheme.RED, r.screenFont(TS), TS * (9), TS * (21));
 			} else if (context.state() == GameState.READY) {
@@ -111,15 +113,27 @@ public class PlayScene2D extends GameScene2D {
 			r.drawGhost(g, level.ghost(GameModel.CYAN_GHOST));
 			r.drawGhost(g, level.ghost(GameModel.PINK_GHOST));
 			r.drawGhost(g, level.ghost(GameModel.RED_GHOST));
-			if (!context.isCreditVisible()) {
-				// TODO get rid of this crap
-				int lives = context.game().isOneLessLifeDisplayed() ? context.game().lives() - 1 : context.game().lives();
-				r.drawLivesCounter(g, lives);
-			}
-			drawLevelCounter(g);
 		});
 	}
 
+	@Override
+	protected void drawHud(GraphicsContext g) {
+		super.drawHud(g);
+		if (context.level().isPresent() && !context.isCreditVisible()) {
+			context.rendering2D().drawLivesCounter(g, livesDisplayed());
+		}
+	}
+
+	@Override
+	protected long hudFingerprint() {
+		return mix(super.hudFingerprint(), livesDisplayed());
+	}
+
+	private int livesDisplayed() {
+		// TODO get rid of this crap
+		return context.game().isOneLessLifeDisplayed() ? context.game().lives() - 1 : context.game().lives();
+	}
+
 	@Override
 	protected void drawInfo(GraphicsContext g) {
 		drawTileStructure(g, World.TILES_X, World.TILES_Y);
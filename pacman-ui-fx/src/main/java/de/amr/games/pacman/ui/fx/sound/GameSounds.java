@@ -24,133 +24,351 @@ SOFTWARE.
 
 package de.amr.games.pacman.ui.fx.sound;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.tinylog.Logger;
 
 import de.amr.games.pacman.ui.fx.app.AppRes;
 import javafx.animation.Animation;
-import javafx.scene.media.AudioClip;
 
 /**
+ * Sound clips of a game variant.
+ * <p>
+ * Calls like {@link #play(AudioClipID)} or {@link #stop(AudioClipID)} do not access the audio clips directly but record
+ * the intended action per clip. Repeated intents are merged and a stop cancels a play requested in the same frame.
+ * {@link #flush()} executes the pending intents once per frame. Whether a clip is playing is taken from a table which
+ * is refreshed from the clips that are known to play, so most queries do not touch the audio backend.
+ * <p>
+ * Clips can be loaded in the background using {@link #preload(Executor, AudioClipID...)}. A clip needed before its
+ * background loading has started is loaded on demand.
+ * 
  * @author Armin Reichert
  */
 public class GameSounds {
 
-	record ClipInfo(String path, double volume, AudioClip clip) {
+	record ClipInfo(String path, double volume) {
 	}
 
-	private final Map<AudioClipID, ClipInfo> clipInfoMap = new EnumMap<>(AudioClipID.class);
+	/** Loading of a clip which is executed by a background thread or, if needed earlier, by the requesting thread. */
+	private class ClipLoader implements Runnable {
+		final AudioClipID id;
+		final ClipInfo info;
+		final AtomicBoolean started = new AtomicBoolean();
+		final CompletableFuture<SoundClip> clip = new CompletableFuture<>();
+		volatile long loadNanos;
 
-	public GameSounds(Object[][] data, boolean preload) {
+		ClipLoader(AudioClipID id, ClipInfo info) {
+			this.id = id;
+			this.info = info;
+		}
+
+		@Override
+		public void run() {
+			if (started.compareAndSet(false, true)) {
+				long start = System.nanoTime();
+				try {
+					clip.complete(makeAudioClip(id, info.path(), info.volume()));
+				} catch (Exception x) {
+					clip.completeExceptionally(x);
+				}
+				loadNanos = System.nanoTime() - start;
+				Logger.trace("Audio clip {} loaded in {} ms ({})", id, loadNanos / 1_000_000, Thread.currentThread().getName());
+			}
+		}
+	}
+
+	private enum Action {
+		NONE, PLAY, ENSURE_LOOP, LOOP
+	}
+
+	/** Pending intent for a clip: optional stop followed by an optional start action. */
+	private static class Intent {
+		boolean pending;
+		boolean stopFirst;
+		Action action = Action.NONE;
+		int cycleCount;
+
+		void clear() {
+			pending = false;
+			stopFirst = false;
+			action = Action.NONE;
+		}
+	}
+
+	private static final AudioClipID[] SIRENS = { AudioClipID.SIREN_1, AudioClipID.SIREN_2, AudioClipID.SIREN_3,
+			AudioClipID.SIREN_4 };
+
+	private final SoundBackend backend;
+	private final Map<AudioClipID, ClipLoader> loaders = new EnumMap<>(AudioClipID.class);
+	private final Intent[] intents = new Intent[AudioClipID.values().length];
+	private final boolean[] playing = new boolean[AudioClipID.values().length];
+	private long backendCalls;
+	private long backendCallsWindowStart;
+	private long backendCallsInWindow;
+	private volatile long backendCallsPerSecond;
+
+	public GameSounds(Object[][] data, boolean preload, SoundBackend backend) {
+		this.backend = backend;
 		for (var row : data) {
 			AudioClipID id = (AudioClipID) row[0];
 			String path = (String) row[1];
 			double volume = (double) row[2];
+			var loader = new ClipLoader(id, new ClipInfo(path, volume));
+			loaders.put(id, loader);
 			if (preload) {
-				clipInfoMap.put(id, new ClipInfo(path, volume, makeAudioClip(id, path, volume)));
-
-			} else {
-				clipInfoMap.put(id, new ClipInfo(path, volume, null));
+				loader.run();
 			}
 		}
+		for (int i = 0; i < intents.length; ++i) {
+			intents[i] = new Intent();
+		}
 	}
 
-	private static AudioClip makeAudioClip(AudioClipID id, String path, double volume) {
-		var clip = AppRes.Manager.audioClip(path); // TODO
-		clip.setVolume(volume);
-		Logger.info("Audio clip created, id={} volume={}, source={}", id, clip.getVolume(), clip.getSource());
+	private SoundClip makeAudioClip(AudioClipID id, String path, double volume) {
+		var clip = backend.createClip(AppRes.Manager.urlFromRelPath(path), volume); // TODO
+		Logger.info("Audio clip created, id={} volume={}, source={}", id, volume, path);
 		return clip;
 	}
 
-	private AudioClip getOrCreateAudioClip(AudioClipID id) {
-		var info = clipInfoMap.get(id);
-		if (info.clip == null) {
-			var clip = makeAudioClip(id, info.path, info.volume());
-			clipInfoMap.put(id, new ClipInfo(info.path, info.volume, clip));
-			return clip;
+	/**
+	 * Loads the clips in the background. The given clips are loaded first, the others in the order of the clip table.
+	 * 
+	 * @param executor   executor running the loading tasks
+	 * @param firstClips clips to load first
+	 * @return future completed when all clips are loaded
+	 */
+	public CompletableFuture<Void> preload(Executor executor, AudioClipID... firstClips) {
+		var order = new LinkedHashSet<AudioClipID>(Arrays.asList(firstClips));
+		order.addAll(loaders.keySet());
+		var futures = new ArrayList<CompletableFuture<SoundClip>>();
+		for (var id : order) {
+			var loader = loaders.get(id);
+			if (loader != null) {
+				executor.execute(loader);
+				futures.add(loader.clip);
+			}
+		}
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * @return load time in milliseconds of each loaded clip
+	 */
+	public String loadReport() {
+		return loaders.values().stream().filter(loader -> loader.clip.isDone())
+				.map(loader -> "%s=%d".formatted(loader.id, loader.loadNanos / 1_000_000)).collect(Collectors.joining(", "));
+	}
+
+	/*
+	 * If the clip has not been loaded yet, it is loaded now by the calling thread. If it is being loaded by another
+	 * thread, this call blocks until it is ready.
+	 */
+	private SoundClip getOrCreateAudioClip(AudioClipID id) {
+		var loader = loaders.get(id);
+		if (loader == null) {
+			return null;
+		}
+		if (!loader.clip.isDone()) {
+			Logger.info("Audio clip {} needed before preloaded", id);
+			loader.run();
 		}
-		return info.clip();
+		return loader.clip.join();
 	}
 
-	public Optional<AudioClip> getClip(AudioClipID clipID) {
+	/**
+	 * Direct access to the clip, bypassing the command queue.
+	 * 
+	 * @param clipID clip ID
+	 * @return audio clip if defined for this game variant
+	 */
+	public Optional<SoundClip> getClip(AudioClipID clipID) {
 		var clip = getOrCreateAudioClip(clipID);
 		return Optional.ofNullable(clip);
 	}
 
+	private Intent intent(AudioClipID clipID) {
+		var intent = intents[clipID.ordinal()];
+		intent.pending = true;
+		return intent;
+	}
+
+	/**
+	 * @param clipID clip ID
+	 * @return if the clip is playing, including the effect of intents not yet flushed: a pending start means playing, a
+	 *         pending stop means not playing
+	 */
 	public boolean isPlaying(AudioClipID clipID) {
-		return getClip(clipID).map(AudioClip::isPlaying).orElse(false);
+		var intent = intents[clipID.ordinal()];
+		if (intent.pending) {
+			if (intent.action != Action.NONE) {
+				return true;
+			}
+			if (intent.stopFirst) {
+				return false;
+			}
+		}
+		return playing[clipID.ordinal()];
 	}
 
 	public void play(AudioClipID clipID) {
-		if (!isPlaying(clipID)) {
-			var optionalClip = getClip(clipID);
-			optionalClip.ifPresent(clip -> {
-				clip.setCycleCount(1); // might have been looped at previous call
-				clip.play();
-			});
-		} else {
-			Logger.info("Sound clip {} already playing", clipID);
+		var intent = intent(clipID);
+		if (intent.action != Action.LOOP) {
+			intent.action = Action.PLAY;
+			intent.cycleCount = 1;
 		}
 	}
 
 	public void ensureLoop(AudioClipID clipID, int repetitions) {
-		if (!isPlaying(clipID)) {
-			loop(clipID, repetitions);
+		var intent = intent(clipID);
+		if (intent.action != Action.LOOP) {
+			intent.action = Action.ENSURE_LOOP;
+			intent.cycleCount = repetitions;
 		}
 	}
 
 	public void loop(AudioClipID clipID, int repetitions) {
-		getClip(clipID).ifPresent(clip -> {
-			clip.setCycleCount(repetitions);
-			clip.play();
-		});
+		var intent = intent(clipID);
+		intent.action = Action.LOOP;
+		intent.cycleCount = repetitions;
 	}
 
 	public void stop(AudioClipID clipID) {
-		getClip(clipID).ifPresent(AudioClip::stop);
+		var intent = intents[clipID.ordinal()];
+		if (!intent.pending && !playing[clipID.ordinal()]) {
+			return; // nothing to stop
+		}
+		intent.pending = true;
+		intent.stopFirst = true;
+		intent.action = Action.NONE;
 	}
 
 	public void stopAll() {
-		clipInfoMap.values().stream().map(ClipInfo::clip).filter(Objects::nonNull).forEach(AudioClip::stop);
+		for (var clipID : AudioClipID.values()) {
+			stop(clipID);
+		}
 	}
 
 	public void startSiren(int sirenIndex) {
+		if (sirenIndex < 0 || sirenIndex >= SIRENS.length) {
+			throw new IllegalArgumentException("Illegal siren index: " + sirenIndex);
+		}
 		stopSirens();
-		var siren = switch (sirenIndex) {
-		case 0 -> AudioClipID.SIREN_1;
-		case 1 -> AudioClipID.SIREN_2;
-		case 2 -> AudioClipID.SIREN_3;
-		case 3 -> AudioClipID.SIREN_4;
-		default -> throw new IllegalArgumentException("Illegal siren index: " + sirenIndex);
-		};
-		loop(siren, Animation.INDEFINITE);
-		Logger.trace("Siren {} started", siren);
+		loop(SIRENS[sirenIndex], Animation.INDEFINITE);
+		Logger.trace("Siren {} started", SIRENS[sirenIndex]);
 	}
 
 	public Stream<AudioClipID> sirens() {
-		return Stream.of(AudioClipID.SIREN_1, AudioClipID.SIREN_2, AudioClipID.SIREN_3, AudioClipID.SIREN_4);
+		return Stream.of(SIRENS);
 	}
 
 	/**
 	 * @param sirenIndex index of siren (0..3)
 	 */
 	public void ensureSirenStarted(int sirenIndex) {
-		if (sirens().noneMatch(this::isPlaying)) {
-			startSiren(sirenIndex);
+		for (var siren : SIRENS) {
+			if (isPlaying(siren)) {
+				return;
+			}
 		}
+		startSiren(sirenIndex);
 	}
 
 	public void stopSirens() {
-		sirens().forEach(siren -> {
-			if (isPlaying(siren)) {
-				getClip(siren).ifPresent(AudioClip::stop);
-				Logger.trace("Siren {} stopped", siren);
+		for (var siren : SIRENS) {
+			stop(siren);
+		}
+	}
+
+	/**
+	 * Executes the pending intents and refreshes the playing state of the clips. Called once per frame.
+	 */
+	public void flush() {
+		for (var clipID : AudioClipID.values()) {
+			int i = clipID.ordinal();
+			var intent = intents[i];
+			if (!intent.pending && !playing[i]) {
+				continue;
+			}
+			var clip = getOrCreateAudioClip(clipID);
+			if (clip == null) {
+				intent.clear();
+				continue;
+			}
+			if (playing[i]) {
+				playing[i] = clip.isPlaying();
+				++backendCalls;
 			}
-		});
+			if (intent.pending) {
+				execute(clipID, clip, intent);
+				intent.clear();
+			}
+		}
+		updateBackendCallRate();
+	}
+
+	private void execute(AudioClipID clipID, SoundClip clip, Intent intent) {
+		int i = clipID.ordinal();
+		if (intent.stopFirst && playing[i]) {
+			clip.stop();
+			++backendCalls;
+			playing[i] = false;
+		}
+		switch (intent.action) {
+		case PLAY, ENSURE_LOOP -> {
+			if (playing[i]) {
+				Logger.trace("Sound clip {} already playing", clipID);
+			} else {
+				startClip(clip, intent.cycleCount);
+				playing[i] = true;
+			}
+		}
+		case LOOP -> {
+			startClip(clip, intent.cycleCount);
+			playing[i] = true;
+		}
+		default -> {
+			// nothing to start
+		}
+		}
+	}
+
+	private void startClip(SoundClip clip, int cycleCount) {
+		clip.play(cycleCount);
+		++backendCalls;
+	}
+
+	private void updateBackendCallRate() {
+		long now = System.nanoTime();
+		if (backendCallsWindowStart == 0) {
+			backendCallsWindowStart = now;
+		} else if (now - backendCallsWindowStart >= 1_000_000_000L) {
+			backendCallsPerSecond = Math.round((backendCalls - backendCallsInWindow) * 1e9 / (now - backendCallsWindowStart));
+			backendCallsInWindow = backendCalls;
+			backendCallsWindowStart = now;
+		}
+	}
+
+	/**
+	 * @return total number of calls to the audio clips
+	 */
+	public long backendCalls() {
+		return backendCalls;
+	}
+
+	/**
+	 * @return number of calls to the audio clips during the last second
+	 */
+	public long backendCallsPerSecond() {
+		return backendCallsPerSecond;
 	}
 }
\ No newline at end of file
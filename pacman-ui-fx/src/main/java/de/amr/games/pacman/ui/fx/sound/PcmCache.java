@@ -0,0 +1,198 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.sound;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.tinylog.Logger;
+
+/**
+ * Decodes audio resources into PCM samples in the mixer format (44.1 kHz, 16 bit signed little-endian, stereo). The
+ * samples are kept in direct byte buffers and, if a cache directory is given, stored in files so later application
+ * starts can skip decoding. A cache file is identified by the resource URL and a checksum of the resource content, so an
+ * edited resource is decoded again. The file header contains the mixer format, files in another format are ignored.
+ * <p>
+ * Decoding uses the {@code javax.sound.sampled} file readers. WAV, AIFF and AU are supported by the JDK, MP3 by the
+ * {@code mp3spi} service provider the application depends on.
+ * 
+ * @author Armin Reichert
+ */
+public class PcmCache {
+
+	public static final AudioFormat FORMAT = new AudioFormat(44_100, 16, 2, true, false);
+	public static final int FRAME_SIZE = 4;
+
+	private static final int MAGIC = 0x50434D32; // "PCM2"
+	private static final int HEADER_SIZE = 20;
+
+	private final Path directory;
+	private final AtomicInteger fileHits = new AtomicInteger();
+	private final AtomicInteger decoded = new AtomicInteger();
+
+	/**
+	 * @param directory directory where decoded samples are stored or {@code null} if samples are not stored
+	 */
+	public PcmCache(Path directory) {
+		this.directory = directory;
+	}
+
+	public int fileHits() {
+		return fileHits.get();
+	}
+
+	public int decodedCount() {
+		return decoded.get();
+	}
+
+	/**
+	 * @param url audio resource
+	 * @return samples in mixer format
+	 * @throws IOException                   if resource cannot be read
+	 * @throws UnsupportedAudioFileException if no decoder for this audio format is available
+	 */
+	public ByteBuffer samples(URL url) throws IOException, UnsupportedAudioFileException {
+		Path file = directory != null ? directory.resolve(cacheFileName(url)) : null;
+		if (file != null && Files.isRegularFile(file)) {
+			try {
+				var samples = readFile(file);
+				fileHits.incrementAndGet();
+				return samples;
+			} catch (IOException x) {
+				Logger.warn("Could not read PCM cache file {}: {}", file, x.getMessage());
+			}
+		}
+		var samples = decode(url);
+		decoded.incrementAndGet();
+		if (file != null) {
+			try {
+				writeFile(file, samples);
+			} catch (IOException x) {
+				Logger.warn("Could not write PCM cache file {}: {}", file, x.getMessage());
+			}
+		}
+		return samples;
+	}
+
+	private static String cacheFileName(URL url) throws IOException {
+		var checksum = new CRC32();
+		try (var in = url.openStream()) {
+			checksum.update(in.readAllBytes());
+		}
+		return "%08x-%08x.pcm".formatted(url.toExternalForm().hashCode(), checksum.getValue());
+	}
+
+	private static ByteBuffer readFile(Path file) throws IOException {
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			var header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read header
+			}
+			header.flip();
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				throw new IOException("Not a PCM cache file");
+			}
+			if (header.getFloat() != FORMAT.getSampleRate() || header.getInt() != FORMAT.getSampleSizeInBits()
+					|| header.getInt() != FORMAT.getChannels()) {
+				throw new IOException("PCM cache file has other format than mixer");
+			}
+			int numBytes = header.getInt();
+			if (numBytes < 0 || numBytes != channel.size() - HEADER_SIZE) {
+				throw new IOException("Corrupt PCM cache file");
+			}
+			var samples = ByteBuffer.allocateDirect(numBytes).order(ByteOrder.LITTLE_ENDIAN);
+			while (samples.hasRemaining() && channel.read(samples) >= 0) {
+				// read samples
+			}
+			return samples.flip();
+		}
+	}
+
+	private static void writeFile(Path file, ByteBuffer samples) throws IOException {
+		Files.createDirectories(file.getParent());
+		var temp = Files.createTempFile(file.getParent(), "pcm", ".tmp");
+		try (var out = new DataOutputStream(Files.newOutputStream(temp))) {
+			out.writeInt(MAGIC);
+			out.writeFloat(FORMAT.getSampleRate());
+			out.writeInt(FORMAT.getSampleSizeInBits());
+			out.writeInt(FORMAT.getChannels());
+			out.writeInt(samples.limit());
+			var bytes = new byte[samples.limit()];
+			samples.duplicate().get(bytes);
+			out.write(bytes);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static ByteBuffer decode(URL url) throws IOException, UnsupportedAudioFileException {
+		try (var in = AudioSystem.getAudioInputStream(url)) {
+			var source = in.getFormat();
+			int channels = source.getChannels();
+			float sampleRate = source.getSampleRate();
+			var pcmFormat = new AudioFormat(sampleRate, 16, channels, true, false);
+			try (var pcm = AudioSystem.getAudioInputStream(pcmFormat, in)) {
+				var bytes = pcm.readAllBytes();
+				return convert(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), channels, sampleRate);
+			}
+		}
+	}
+
+	/*
+	 * Converts 16-bit samples with any channel count and sample rate into the mixer format. Mono is copied to both
+	 * channels, the sample rate is converted by linear interpolation.
+	 */
+	private static ByteBuffer convert(ByteBuffer source, int channels, float sampleRate) {
+		int sourceFrames = source.limit() / (2 * channels);
+		double step = sampleRate / FORMAT.getSampleRate();
+		int frames = sourceFrames == 0 ? 0 : (int) ((sourceFrames - 1) / step) + 1;
+		var target = ByteBuffer.allocateDirect(frames * FRAME_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		for (int frame = 0; frame < frames; ++frame) {
+			double position = frame * step;
+			int index = (int) position;
+			double fraction = position - index;
+			int next = Math.min(index + 1, sourceFrames - 1);
+			for (int channel = 0; channel < 2; ++channel) {
+				int sourceChannel = Math.min(channel, channels - 1);
+				short a = source.getShort(2 * (index * channels + sourceChannel));
+				short b = source.getShort(2 * (next * channels + sourceChannel));
+				target.putShort((short) Math.round(a + (b - a) * fraction));
+			}
+		}
+		return target.flip();
+	}
+}
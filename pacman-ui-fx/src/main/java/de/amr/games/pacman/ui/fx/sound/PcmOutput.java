@@ -0,0 +1,132 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.sound;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import org.tinylog.Logger;
+
+/**
+ * Destination of the mixed PCM samples.
+ * 
+ * @author Armin Reichert
+ */
+public interface PcmOutput {
+
+	/**
+	 * Writes the given samples. Blocks until the output can take them, which paces the mixer.
+	 * 
+	 * @param data   sample bytes
+	 * @param length number of bytes
+	 */
+	void write(byte[] data, int length);
+
+	void close();
+
+	/**
+	 * Opens an audio line or, if no audio device is available, a null output.
+	 * 
+	 * @param format      sample format
+	 * @param bufferBytes line buffer size in bytes, small values mean low latency
+	 * @return output
+	 */
+	static PcmOutput open(AudioFormat format, int bufferBytes) {
+		try {
+			return new LineOutput(format, bufferBytes);
+		} catch (LineUnavailableException | IllegalArgumentException | SecurityException x) {
+			Logger.warn("No audio line available ({}), using null output", x.getMessage());
+			return new NullOutput(format);
+		}
+	}
+
+	/**
+	 * Output to a {@code javax.sound.sampled} source data line.
+	 */
+	class LineOutput implements PcmOutput {
+
+		private final SourceDataLine line;
+
+		public LineOutput(AudioFormat format, int bufferBytes) throws LineUnavailableException {
+			line = AudioSystem.getSourceDataLine(format);
+			line.open(format, bufferBytes);
+			line.start();
+			Logger.info("Audio line opened: {}, buffer {} bytes", format, line.getBufferSize());
+		}
+
+		@Override
+		public void write(byte[] data, int length) {
+			line.write(data, 0, length);
+		}
+
+		@Override
+		public void close() {
+			line.stop();
+			line.close();
+		}
+	}
+
+	/**
+	 * Output discarding the samples at the speed of a real device, for machines without audio device and headless tests.
+	 */
+	class NullOutput implements PcmOutput {
+
+		private final double nanosPerByte;
+		private long nextWriteTime;
+		private long bytesWritten;
+
+		public NullOutput(AudioFormat format) {
+			nanosPerByte = 1e9 / (format.getFrameRate() * format.getFrameSize());
+		}
+
+		@Override
+		public void write(byte[] data, int length) {
+			long now = System.nanoTime();
+			if (nextWriteTime == 0 || now - nextWriteTime > 100_000_000L) {
+				nextWriteTime = now; // start or resume after a stall
+			}
+			long waitNanos = nextWriteTime - now;
+			if (waitNanos > 0) {
+				try {
+					Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+				} catch (InterruptedException x) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			nextWriteTime += (long) (length * nanosPerByte);
+			bytesWritten += length;
+		}
+
+		public long bytesWritten() {
+			return bytesWritten;
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.sound;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.tinylog.Logger;
+
+import javafx.scene.media.AudioClip;
+
+/**
+ * Sound backend playing PCM samples through a software mixer.
+ * <p>
+ * Each clip is decoded once into a {@link PcmCache}. A mixer thread sums the samples of all playing clip instances into
+ * small buffers and writes them to a {@link PcmOutput}, either an audio line or, without audio device, a null output.
+ * Starting a clip only adds a voice to the mixer, so the trigger latency is at most one mixer buffer plus the line
+ * buffer. MP3 resources are decoded by the MP3 service provider on the class path. Clips that still cannot be decoded
+ * are played by the JavaFX backend; this is logged once per resource.
+ * 
+ * @author Armin Reichert
+ */
+public class PcmSoundBackend implements SoundBackend {
+
+	/** Frames mixed per buffer (about 6 milliseconds). */
+	private static final int FRAMES_PER_BUFFER = 256;
+
+	/** Audio line buffer size (four mixer buffers). */
+	private static final int LINE_BUFFER_BYTES = 4 * FRAMES_PER_BUFFER * PcmCache.FRAME_SIZE;
+
+	private static class Voice {
+		final PcmClip clip;
+		int frame;
+		int cyclesLeft;
+
+		Voice(PcmClip clip, int cycleCount) {
+			this.clip = clip;
+			this.cyclesLeft = cycleCount;
+		}
+	}
+
+	private class PcmClip implements SoundClip {
+		final ByteBuffer samples;
+		final int numFrames;
+		final int volume; // 0..256
+		final AtomicInteger playingVoices = new AtomicInteger();
+
+		PcmClip(ByteBuffer samples, double volume) {
+			this.samples = samples;
+			this.numFrames = samples.limit() / PcmCache.FRAME_SIZE;
+			this.volume = (int) Math.round(Math.max(0, Math.min(1, volume)) * 256);
+		}
+
+		@Override
+		public void play(int cycleCount) {
+			if (numFrames == 0 || cycleCount == 0) {
+				return;
+			}
+			synchronized (voices) {
+				voices.add(new Voice(this, cycleCount));
+				playingVoices.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void stop() {
+			synchronized (voices) {
+				voices.removeIf(voice -> voice.clip == this);
+				playingVoices.set(0);
+			}
+		}
+
+		@Override
+		public boolean isPlaying() {
+			return playingVoices.get() > 0;
+		}
+	}
+
+	private final PcmCache cache;
+	private final PcmOutput output;
+	private final FxSoundBackend fallback = new FxSoundBackend();
+	private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+	private final List<Voice> voices = new ArrayList<>();
+	private final Thread mixerThread;
+	private volatile boolean running = true;
+
+	/**
+	 * @param cacheDirectory directory for decoded samples or {@code null} if samples are not stored
+	 * @param nullOutput     if samples are discarded instead of played (headless tests)
+	 */
+	public PcmSoundBackend(Path cacheDirectory, boolean nullOutput) {
+		cache = new PcmCache(cacheDirectory);
+		output = nullOutput ? new PcmOutput.NullOutput(PcmCache.FORMAT)
+				: PcmOutput.open(PcmCache.FORMAT, LINE_BUFFER_BYTES);
+		mixerThread = new Thread(this::mix, "SoundMixer");
+		mixerThread.setDaemon(true);
+		mixerThread.setPriority(Thread.MAX_PRIORITY);
+		mixerThread.start();
+	}
+
+	public PcmCache cache() {
+		return cache;
+	}
+
+	@Override
+	public SoundClip createClip(URL url, double volume) {
+		// URL.equals() may resolve host names, so resources are identified by their external form
+		var resource = url.toExternalForm();
+		if (!undecodable.contains(resource)) {
+			try {
+				return new PcmClip(cache.samples(url), volume);
+			} catch (UnsupportedAudioFileException | IOException | RuntimeException x) {
+				if (undecodable.add(resource)) {
+					Logger.warn("Cannot decode {} ({}), using JavaFX audio clip", url, x.getMessage());
+				}
+			}
+		}
+		return fallback.createClip(url, volume);
+	}
+
+	/**
+	 * @return number of resources played by the JavaFX backend because they could not be decoded
+	 */
+	public int fallbackCount() {
+		return undecodable.size();
+	}
+
+	@Override
+	public void shutdown() {
+		running = false;
+		try {
+			mixerThread.join(1000);
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+		output.close();
+		Logger.info("PCM sound backend stopped. {} clips decoded, {} read from cache, {} played by JavaFX",
+				cache.decodedCount(), cache.fileHits(), fallbackCount());
+	}
+
+	private void mix() {
+		var sum = new int[2 * FRAMES_PER_BUFFER];
+		var buffer = new byte[FRAMES_PER_BUFFER * PcmCache.FRAME_SIZE];
+		while (running) {
+			Arrays.fill(sum, 0);
+			synchronized (voices) {
+				for (var it = voices.iterator(); it.hasNext();) {
+					var voice = it.next();
+					if (!mixVoice(voice, sum)) {
+						it.remove();
+						voice.clip.playingVoices.decrementAndGet();
+					}
+				}
+			}
+			for (int i = 0; i < sum.length; ++i) {
+				int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+				buffer[2 * i] = (byte) sample;
+				buffer[2 * i + 1] = (byte) (sample >> 8);
+			}
+			output.write(buffer, buffer.length);
+		}
+	}
+
+	/*
+	 * Adds the next buffer of the voice to the sum. Returns false if the voice has ended.
+	 */
+	private boolean mixVoice(Voice voice, int[] sum) {
+		var clip = voice.clip;
+		for (int i = 0; i < FRAMES_PER_BUFFER; ++i) {
+			if (voice.frame == clip.numFrames) {
+				if (voice.cyclesLeft != AudioClip.INDEFINITE && --voice.cyclesLeft <= 0) {
+					return false;
+				}
+				voice.frame = 0;
+			}
+			int offset = voice.frame * PcmCache.FRAME_SIZE;
+			sum[2 * i] += clip.samples.getShort(offset) * clip.volume >> 8;
+			sum[2 * i + 1] += clip.samples.getShort(offset + 2) * clip.volume >> 8;
+			++voice.frame;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,298 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.util;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.tinylog.Logger;
+
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Captures snapshots of a scene graph node and writes them as PNG image sequence or as Motion-JPEG file.
+ * <p>
+ * On the JavaFX application thread, the node is rendered into a reused image and its pixels are copied into a pooled
+ * buffer. Encoding and writing is done by a pool of background threads. If the encoders cannot keep up and the queue
+ * of pending frames is full, frames are dropped instead of stalling the application thread.
+ * 
+ * @author Armin Reichert
+ */
+public class FrameCapture {
+
+	public enum Format {
+		/** Numbered PNG files in a directory. */
+		PNG,
+		/** JPEG frames concatenated into a single file. */
+		MJPEG;
+
+		/**
+		 * @param path output path
+		 * @return {@link #MJPEG} if path has file extension ".mjpeg" or ".mjpg", else {@link #PNG}
+		 */
+		public static Format of(Path path) {
+			var name = path.getFileName().toString().toLowerCase();
+			return name.endsWith(".mjpeg") || name.endsWith(".mjpg") ? MJPEG : PNG;
+		}
+	}
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 32;
+
+	/** Marks a frame in the reorder buffer that could not be encoded. */
+	private static final byte[] SKIPPED = new byte[0];
+
+	private final Path path;
+	private final Format format;
+	private final int interval;
+	private final int queueCapacity;
+	private final ThreadPoolExecutor encoders;
+	private final ConcurrentLinkedQueue<int[]> bufferPool = new ConcurrentLinkedQueue<>();
+	private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong bytesWritten = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final Map<Long, byte[]> reorderBuffer = new TreeMap<>();
+	private OutputStream mjpegOut;
+	private long nextFrameToWrite;
+	private WritableImage snapshot;
+	private long ticks;
+	private long captured;
+	private long dropped;
+	private long startTime;
+
+	/**
+	 * @param path          output directory (PNG) or file (MJPEG), see {@link Format#of(Path)}
+	 * @param interval      capture every n-th frame
+	 * @param numEncoders   number of encoder threads
+	 * @param queueCapacity maximum number of frames waiting for encoding
+	 */
+	public FrameCapture(Path path, int interval, int numEncoders, int queueCapacity) {
+		if (interval < 1) {
+			throw new IllegalArgumentException("Capture interval must be positive but is %d".formatted(interval));
+		}
+		this.path = path;
+		this.format = Format.of(path);
+		this.interval = interval;
+		this.queueCapacity = queueCapacity;
+		// frames exceeding the queue capacity are dropped before submission, so the rejection policy is only a safeguard
+		// that keeps the frame sequence complete
+		encoders = new ThreadPoolExecutor(numEncoders, numEncoders, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					var thread = new Thread(runnable, "FrameEncoder");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		snapshotParameters.setFill(Color.BLACK);
+	}
+
+	public FrameCapture(Path path, int interval) {
+		this(path, interval, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Creates the output directory or file. Must be called before the first frame is captured.
+	 * 
+	 * @throws IOException if output cannot be created
+	 */
+	public void open() throws IOException {
+		if (format == Format.MJPEG) {
+			var parent = path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			mjpegOut = Files.newOutputStream(path);
+		} else {
+			Files.createDirectories(path);
+		}
+		startTime = System.nanoTime();
+		Logger.info("Frame capture started: {} ({}, every {}. frame)", path, format, interval);
+	}
+
+	/**
+	 * @return if the next call of {@link #capture(Node)} will take a snapshot
+	 */
+	public boolean isDue() {
+		return ticks % interval == 0;
+	}
+
+	/**
+	 * Takes a snapshot of the given node if due. Must be called on the JavaFX application thread.
+	 * 
+	 * @param node node to capture
+	 */
+	public void capture(Node node) {
+		boolean due = isDue();
+		++ticks;
+		if (!due) {
+			return;
+		}
+		if (encoders.getQueue().size() >= queueCapacity) {
+			++dropped;
+			return;
+		}
+		var bounds = node.getLayoutBounds();
+		int width = (int) Math.ceil(bounds.getWidth());
+		int height = (int) Math.ceil(bounds.getHeight());
+		if (width <= 0 || height <= 0) {
+			return;
+		}
+		if (snapshot == null || (int) snapshot.getWidth() != width || (int) snapshot.getHeight() != height) {
+			snapshot = new WritableImage(width, height);
+		}
+		node.snapshot(snapshotParameters, snapshot);
+		int[] pixels = acquireBuffer(width * height);
+		snapshot.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+		long frameNumber = captured++;
+		encoders.execute(() -> encodeAndWrite(frameNumber, pixels, width, height));
+	}
+
+	private int[] acquireBuffer(int size) {
+		int[] buffer;
+		while ((buffer = bufferPool.poll()) != null) {
+			if (buffer.length == size) {
+				return buffer;
+			}
+		}
+		return new int[size];
+	}
+
+	private void encodeAndWrite(long frameNumber, int[] pixels, int width, int height) {
+		byte[] jpeg = null;
+		try {
+			var image = new BufferedImage(width, height,
+					format == Format.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+			image.setRGB(0, 0, width, height, pixels, 0, width);
+			bufferPool.offer(pixels);
+			var bytes = new ByteArrayOutputStream(width * height);
+			ImageIO.write(image, format == Format.PNG ? "png" : "jpg", bytes);
+			if (format == Format.PNG) {
+				Files.write(path.resolve("frame_%06d.png".formatted(frameNumber)), bytes.toByteArray());
+				bytesWritten.addAndGet(bytes.size());
+				written.incrementAndGet();
+			} else {
+				jpeg = bytes.toByteArray();
+			}
+		} catch (IOException | RuntimeException x) {
+			errors.incrementAndGet();
+			Logger.error("Could not write frame {}: {}", frameNumber, x.getMessage());
+		} finally {
+			// every frame number must reach the reorder buffer, else all following frames would wait forever
+			if (format == Format.MJPEG) {
+				writeInOrder(frameNumber, jpeg != null ? jpeg : SKIPPED);
+			}
+		}
+	}
+
+	private synchronized void writeInOrder(long frameNumber, byte[] jpeg) {
+		reorderBuffer.put(frameNumber, jpeg);
+		byte[] next;
+		while ((next = reorderBuffer.remove(nextFrameToWrite)) != null) {
+			if (next != SKIPPED) {
+				try {
+					mjpegOut.write(next);
+					bytesWritten.addAndGet(next.length);
+					written.incrementAndGet();
+				} catch (IOException x) {
+					errors.incrementAndGet();
+					Logger.error("Could not write frame {}: {}", nextFrameToWrite, x.getMessage());
+				}
+			}
+			++nextFrameToWrite;
+		}
+	}
+
+	/**
+	 * Stops accepting frames and returns immediately. Pending frames are written and the output is closed by a background
+	 * thread.
+	 */
+	public void close() {
+		encoders.shutdown();
+		var finisher = new Thread(this::finish, "FrameCaptureFinisher");
+		// not a daemon thread, so the output is completed even if the application exits meanwhile
+		finisher.setDaemon(false);
+		finisher.start();
+	}
+
+	private void finish() {
+		try {
+			if (!encoders.awaitTermination(30, TimeUnit.SECONDS)) {
+				Logger.warn("Frame encoders did not finish in time");
+			}
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+		}
+		if (mjpegOut != null) {
+			try {
+				synchronized (this) {
+					mjpegOut.close();
+				}
+			} catch (IOException x) {
+				Logger.error(x);
+			}
+		}
+		Logger.info("Frame capture stopped: {}", report());
+	}
+
+	/**
+	 * @return summary of the capture statistics
+	 */
+	public String report() {
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		return "%s: %d frames captured, %d written (%.1f MB), %d dropped, %d errors in %.1f sec".formatted(path, captured,
+				written.get(), bytesWritten.get() / 1e6, dropped, errors.get(), seconds);
+	}
+
+	public Path path() {
+		return path;
+	}
+
+	public long capturedFrames() {
+		return captured;
+	}
+
+	public long droppedFrames() {
+		return dropped;
+	}
+
+	public long writtenFrames() {
+		return written.get();
+	}
+}
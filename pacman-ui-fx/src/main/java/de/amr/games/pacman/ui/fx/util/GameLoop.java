@@ -27,21 +27,48 @@ import org.tinylog.Logger;
 
 import javafx.animation.Animation;
 import javafx.animation.Animation.Status;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.util.Duration;
 
 /**
  * Game loop with modifiable frame rate.
+ * <p>
+ * In {@link Mode#TIMELINE} mode, a timeline key frame triggers one update and one render step per frame. In
+ * {@link Mode#FIXED_TIMESTEP} mode, the loop is driven by the JavaFX pulse: wall-clock time is accumulated and the
+ * update step is executed exactly {@link #targetFrameratePy} times per second while rendering happens once per pulse.
+ * <p>
+ * In turbo mode, each update step is replaced by a batch of up to {@link #turboStepsPy} updates. The batch ends early
+ * when the frame time budget is used up, so the user interface stays responsive.
+ * <p>
+ * While {@link #idlePy} is set (e.g. game paused or window minimized), rendering is reduced to
+ * {@link #idleFrameratePy} frames per second (0 = only on request). A call of {@link #requestRender()} renders the
+ * next frame in any case.
  * 
  * @author Armin Reichert
  */
 public abstract class GameLoop {
 
+	public enum Mode {
+		TIMELINE, FIXED_TIMESTEP;
+	}
+
+	/** Maximum time (nanoseconds) accounted for a single pulse. Longer stalls drop update ticks. */
+	private static final long MAX_PULSE_NANOS = 250_000_000L;
+
+	/** Fraction of the frame duration that a turbo update batch may use. */
+	private static final double TURBO_FRAME_BUDGET = 0.75;
+
+	/** Length (nanoseconds) of the window after which the phase durations are summarized. */
+	private static final long MEASUREMENT_WINDOW_NANOS = 5_000_000_000L;
+
 	public final IntegerProperty targetFrameratePy = new SimpleIntegerProperty(this, "targetFramerate", 60) {
 		@Override
 		protected void invalidated() {
@@ -49,14 +76,58 @@ public abstract class GameLoop {
 		};
 	};
 
+	public final ObjectProperty<Mode> modePy = new SimpleObjectProperty<>(this, "mode", Mode.TIMELINE) {
+		@Override
+		protected void invalidated() {
+			changeMode();
+		}
+	};
+
 	public final BooleanProperty pausedPy = new SimpleBooleanProperty(this, "paused", false);
-	public final BooleanProperty measuredPy = new SimpleBooleanProperty(this, "measured", false);
+	public final IntegerProperty idleFrameratePy = new SimpleIntegerProperty(this, "idleFramerate", 2);
+	public final BooleanProperty idlePy = new SimpleBooleanProperty(this, "idle", false) {
+		@Override
+		protected void invalidated() {
+			changeIdleState(get(), System.nanoTime());
+		}
+	};
+	public final BooleanProperty turboPy = new SimpleBooleanProperty(this, "turbo", false);
+	public final IntegerProperty turboStepsPy = new SimpleIntegerProperty(this, "turboSteps", 10);
+	public final BooleanProperty measuredPy = new SimpleBooleanProperty(this, "measured", false) {
+		@Override
+		protected void invalidated() {
+			startMeasurementWindow(System.nanoTime());
+		}
+	};
+
+	private final AnimationTimer pulseTimer = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			executePulse(now);
+		}
+	};
+
+	private final LatencyHistogram updateHistogram = new LatencyHistogram("Update phase");
+	private final LatencyHistogram renderHistogram = new LatencyHistogram("Render phase");
 
 	private Timeline frameGenerator;
-	private long updateCount;
-	private long fps;
+	private Mode runningMode;
+	private volatile long updateCount;
+	private volatile long fps;
 	private long fpsCountStartTime;
 	private long frames;
+	private long lastPulseTime;
+	private long accumulatedNanos;
+	private long droppedTicks;
+	private long extraTicks;
+	private long measurementWindowStartTime;
+	private int turboBatchSize;
+	private boolean renderRequested;
+	private long lastRenderTime;
+	private boolean idle;
+	private long idleStartTime;
+	private volatile long idleNanos;
+	private volatile long skippedRenders;
 
 	protected GameLoop() {
 		targetFrameratePy.set(60);
@@ -75,6 +146,14 @@ public abstract class GameLoop {
 		}
 	}
 
+	private void changeMode() {
+		if (isRunning()) {
+			stop();
+			start();
+		}
+		Logger.info("Game loop mode: {}", modePy.get());
+	}
+
 	/**
 	 * Code called in update phase (e.g. simulation).
 	 */
@@ -85,16 +164,39 @@ public abstract class GameLoop {
 	 */
 	public abstract void doRender();
 
+	/**
+	 * Code called at the end of each frame, also if rendering has been skipped in idle mode.
+	 */
+	public void doFrameEnd() {
+		// empty by default
+	}
+
 	public void start() {
-		frameGenerator.play();
+		runningMode = modePy.get();
+		idleStartTime = System.nanoTime();
+		if (runningMode == Mode.FIXED_TIMESTEP) {
+			lastPulseTime = 0;
+			accumulatedNanos = 0;
+			pulseTimer.start();
+		} else {
+			frameGenerator.play();
+		}
 	}
 
 	public void stop() {
-		frameGenerator.stop();
+		if (runningMode != null && idle) {
+			idleNanos += System.nanoTime() - idleStartTime;
+		}
+		if (runningMode == Mode.FIXED_TIMESTEP) {
+			pulseTimer.stop();
+		} else {
+			frameGenerator.stop();
+		}
+		runningMode = null;
 	}
 
 	public boolean isRunning() {
-		return frameGenerator.getStatus() == Status.RUNNING;
+		return runningMode == Mode.FIXED_TIMESTEP || frameGenerator.getStatus() == Status.RUNNING;
 	}
 
 	public boolean isPaused() {
@@ -109,6 +211,62 @@ public abstract class GameLoop {
 		return fps;
 	}
 
+	/**
+	 * @return number of update ticks skipped because a pulse came too late (fixed timestep mode only)
+	 */
+	public long getDroppedTicks() {
+		return droppedTicks;
+	}
+
+	/**
+	 * @return number of additional update ticks executed to catch up with wall-clock time (fixed timestep mode only)
+	 */
+	public long getExtraTicks() {
+		return extraTicks;
+	}
+
+	/**
+	 * @return durations of the update phase, recorded when time measurement is on
+	 */
+	public LatencyHistogram getUpdateHistogram() {
+		return updateHistogram;
+	}
+
+	/**
+	 * @return durations of the render phase, recorded when time measurement is on
+	 */
+	public LatencyHistogram getRenderHistogram() {
+		return renderHistogram;
+	}
+
+	/**
+	 * @return number of updates executed in the last turbo batch
+	 */
+	public int getTurboBatchSize() {
+		return turboBatchSize;
+	}
+
+	/**
+	 * @return total time (nanoseconds) spent in idle mode while the loop was running
+	 */
+	public long getIdleNanos() {
+		return runningMode != null && idle ? idleNanos + System.nanoTime() - idleStartTime : idleNanos;
+	}
+
+	/**
+	 * @return number of frames not rendered because of idle mode
+	 */
+	public long getSkippedRenders() {
+		return skippedRenders;
+	}
+
+	/**
+	 * Requests rendering of the next frame even in idle mode, e.g. after user input or resizing.
+	 */
+	public void requestRender() {
+		renderRequested = true;
+	}
+
 	public void setTimeMeasured(boolean measured) {
 		measuredPy.set(measured);
 	}
@@ -119,26 +277,147 @@ public abstract class GameLoop {
 		}
 	}
 
+	/**
+	 * Executes the given number of updates and renders once at the end.
+	 * 
+	 * @param n number of updates
+	 */
+	public void executeStepsRenderOnce(int n) {
+		long tickTime = System.nanoTime();
+		for (int i = 0; i < n; ++i) {
+			executeUpdate();
+		}
+		renderRequested = true;
+		executeRender(tickTime);
+	}
+
 	public void executeSingleStep(boolean updateEnabled) {
 		long tickTime = System.nanoTime();
 		if (updateEnabled) {
-			runPhase(this::doUpdate, "Update phase: {} milliseconds");
-			updateCount++;
+			executeUpdateStep(tickTime);
 		}
-		runPhase(this::doRender, "Render phase: {} milliseconds");
-		++frames;
-		computeFrameRate(tickTime);
+		executeRender(tickTime);
+	}
+
+	private void executePulse(long now) {
+		if (lastPulseTime == 0) {
+			lastPulseTime = now;
+		}
+		long elapsed = now - lastPulseTime;
+		lastPulseTime = now;
+		long tickNanos = 1_000_000_000L / targetFrameratePy.get();
+		if (elapsed > MAX_PULSE_NANOS) {
+			long dropped = (elapsed - MAX_PULSE_NANOS) / tickNanos;
+			droppedTicks += dropped;
+			Logger.info("Pulse came {} milliseconds late, dropped {} update ticks", elapsed / 1_000_000, dropped);
+			elapsed = MAX_PULSE_NANOS;
+		}
+		accumulatedNanos += elapsed;
+		int ticks = 0;
+		while (accumulatedNanos >= tickNanos) {
+			if (!isPaused()) {
+				executeUpdateStep(now);
+			}
+			accumulatedNanos -= tickNanos;
+			++ticks;
+		}
+		if (ticks > 1) {
+			extraTicks += ticks - 1;
+		}
+		executeRender(now);
 	}
 
-	private void runPhase(Runnable phase, String logMessage) {
+	private void executeUpdateStep(long frameStartTime) {
+		if (!turboPy.get()) {
+			executeUpdate();
+			return;
+		}
+		long budget = (long) (TURBO_FRAME_BUDGET * 1e9 / targetFrameratePy.get());
+		int maxSteps = Math.max(1, turboStepsPy.get());
+		int steps = 0;
+		do {
+			executeUpdate();
+			++steps;
+		} while (steps < maxSteps && System.nanoTime() - frameStartTime < budget);
+		turboBatchSize = steps;
+	}
+
+	private void executeUpdate() {
 		if (measuredPy.get()) {
-			double startNanos = System.nanoTime();
-			phase.run();
-			double durationNanos = System.nanoTime() - startNanos;
-			Logger.info(logMessage, durationNanos / 1e6);
+			long startNanos = System.nanoTime();
+			doUpdate();
+			updateHistogram.record(System.nanoTime() - startNanos);
 		} else {
-			phase.run();
+			doUpdate();
+		}
+		updateCount++;
+	}
+
+	/*
+	 * Called on every invalidation of the idle property, also if its value did not change. Only real transitions are
+	 * counted, and only while the loop is running.
+	 */
+	private void changeIdleState(boolean nowIdle, long time) {
+		if (nowIdle == idle) {
+			return;
+		}
+		idle = nowIdle;
+		if (runningMode != null) {
+			if (idle) {
+				idleStartTime = time;
+			} else {
+				idleNanos += time - idleStartTime;
+			}
 		}
+		if (!idle) {
+			renderRequested = true;
+		}
+		Logger.info("Game loop {} idle mode", idle ? "entered" : "left");
+	}
+
+	private boolean isRenderDue(long tickTime) {
+		if (!idlePy.get() || renderRequested) {
+			return true;
+		}
+		int idleFramerate = idleFrameratePy.get();
+		return idleFramerate > 0 && tickTime - lastRenderTime >= 1_000_000_000L / idleFramerate;
+	}
+
+	private void executeRender(long tickTime) {
+		if (!isRenderDue(tickTime)) {
+			++skippedRenders;
+			doFrameEnd();
+			return;
+		}
+		renderRequested = false;
+		lastRenderTime = tickTime;
+		if (measuredPy.get()) {
+			long startNanos = System.nanoTime();
+			doRender();
+			renderHistogram.record(System.nanoTime() - startNanos);
+			if (startNanos - measurementWindowStartTime > MEASUREMENT_WINDOW_NANOS) {
+				closeMeasurementWindow(startNanos);
+			}
+		} else {
+			doRender();
+		}
+		++frames;
+		computeFrameRate(tickTime);
+		doFrameEnd();
+	}
+
+	private void startMeasurementWindow(long time) {
+		updateHistogram.reset();
+		renderHistogram.reset();
+		measurementWindowStartTime = time;
+	}
+
+	private void closeMeasurementWindow(long time) {
+		updateHistogram.closeWindow();
+		renderHistogram.closeWindow();
+		measurementWindowStartTime = time;
+		Logger.info(updateHistogram.windowSummary());
+		Logger.info(renderHistogram.windowSummary());
 	}
 
 	private void computeFrameRate(long time) {
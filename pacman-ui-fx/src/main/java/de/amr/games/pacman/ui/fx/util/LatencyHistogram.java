@@ -0,0 +1,152 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.util;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free histogram of durations (nanoseconds) with logarithmic buckets. Each power of two is split into four
+ * sub-buckets, so reported values are at most 25% above the recorded ones.
+ * <p>
+ * Values are recorded into the current window. When the window is closed, its percentiles are computed and kept
+ * until the next window is closed. The window results may be read from other threads.
+ * 
+ * @author Armin Reichert
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_BUCKETS = 64 * SUB_BUCKETS;
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) Math.max(0, value);
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return exponent * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS;
+		long subBucketSize = 1L << (exponent - SUB_BUCKET_BITS);
+		return (1L << exponent) + (index % SUB_BUCKETS + 1) * subBucketSize - 1;
+	}
+
+	private final String name;
+	private final long[] counts = new long[NUM_BUCKETS];
+	private long count;
+	private long max;
+
+	private volatile long windowCount;
+	private volatile long windowP50;
+	private volatile long windowP90;
+	private volatile long windowP99;
+	private volatile long windowMax;
+
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public void record(long nanos) {
+		++counts[bucketIndex(nanos)];
+		++count;
+		if (nanos > max) {
+			max = nanos;
+		}
+	}
+
+	/**
+	 * @param percentile percentile (0..100)
+	 * @return upper bound of the bucket containing the given percentile of the values recorded in the current window
+	 */
+	public long percentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long cumulated = 0;
+		for (int i = 0; i < NUM_BUCKETS; ++i) {
+			cumulated += counts[i];
+			if (cumulated >= rank) {
+				return Math.min(bucketUpperBound(i), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Computes the statistics of the current window and starts a new one.
+	 */
+	public void closeWindow() {
+		windowCount = count;
+		windowP50 = percentile(50);
+		windowP90 = percentile(90);
+		windowP99 = percentile(99);
+		windowMax = max;
+		reset();
+	}
+
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		max = 0;
+	}
+
+	public long windowCount() {
+		return windowCount;
+	}
+
+	public long windowP50() {
+		return windowP50;
+	}
+
+	public long windowP90() {
+		return windowP90;
+	}
+
+	public long windowP99() {
+		return windowP99;
+	}
+
+	public long windowMax() {
+		return windowMax;
+	}
+
+	/**
+	 * @return summary of the last closed window, values in milliseconds
+	 */
+	public String windowSummary() {
+		return "%s: n=%d p50=%.3f p90=%.3f p99=%.3f max=%.3f ms".formatted(name, windowCount, windowP50 / 1e6,
+				windowP90 / 1e6, windowP99 / 1e6, windowMax / 1e6);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.util;
+
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Exchanges colors of an image. The image pixels are read into an ARGB buffer at once, remapped using a primitive hash
+ * table and written back with a single call.
+ * <p>
+ * Instances are immutable and can be used from multiple threads, e.g. to recolor several images in parallel.
+ * 
+ * @author Armin Reichert
+ */
+public class PaletteSwap {
+
+	/**
+	 * @param color color
+	 * @return color as 32-bit ARGB value
+	 */
+	public static int argb(Color color) {
+		return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+				| (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+	}
+
+	private final int[] keys;
+	private final int[] values;
+	private final boolean[] used;
+	private final int mask;
+	private final boolean keepUnmapped;
+
+	/**
+	 * @param exchanges    color exchanges
+	 * @param keepUnmapped if pixels with colors not in the exchange map are kept, otherwise they become transparent
+	 */
+	public PaletteSwap(Map<Color, Color> exchanges, boolean keepUnmapped) {
+		int capacity = Integer.highestOneBit(Math.max(1, exchanges.size()) * 4);
+		keys = new int[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+		this.keepUnmapped = keepUnmapped;
+		exchanges.forEach((from, to) -> put(argb(from), argb(to)));
+	}
+
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private void put(int key, int value) {
+		int i = hash(key) & mask;
+		while (used[i] && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = value;
+	}
+
+	private int map(int pixel) {
+		int i = hash(pixel) & mask;
+		while (used[i]) {
+			if (keys[i] == pixel) {
+				return values[i];
+			}
+			i = (i + 1) & mask;
+		}
+		return keepUnmapped ? pixel : 0;
+	}
+
+	/**
+	 * @param source source image
+	 * @return copy of source image with colors exchanged
+	 */
+	public Image apply(Image source) {
+		return apply(source, 0, 0, (int) source.getWidth(), (int) source.getHeight());
+	}
+
+	/**
+	 * @param source source image, e.g. a spritesheet
+	 * @param x      region x-coordinate
+	 * @param y      region y-coordinate
+	 * @param width  region width
+	 * @param height region height
+	 * @return copy of the source image region with colors exchanged
+	 */
+	public Image apply(Image source, int x, int y, int width, int height) {
+		var format = PixelFormat.getIntArgbInstance();
+		var pixels = new int[width * height];
+		source.getPixelReader().getPixels(x, y, width, height, format, pixels, 0, width);
+		for (int i = 0; i < pixels.length; ++i) {
+			pixels[i] = map(pixels[i]);
+		}
+		var result = new WritableImage(width, height);
+		result.getPixelWriter().setPixels(0, 0, width, height, format, pixels, 0, width);
+		return result;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Renders a list of user interface parts (game scene, picture-in-picture view, dashboard etc.) inside the render phase
+ * of the game loop. Each part declares if it is currently visible and how often it wants to be refreshed. Invisible
+ * parts and parts whose refresh interval has not yet elapsed are skipped.
+ * 
+ * @author Armin Reichert
+ */
+public class RenderScheduler {
+
+	/** Refresh rate value meaning "render in every frame". */
+	public static final int EVERY_FRAME = 0;
+
+	/*
+	 * A part is rendered if at least this fraction of its refresh interval has elapsed. Otherwise, jitter of the frame
+	 * timing would let e.g. a 30 Hz part miss every second frame at 60 Hz.
+	 */
+	private static final double INTERVAL_TOLERANCE = 0.9;
+
+	private static class Renderable {
+		final String name;
+		final Runnable renderCode;
+		final BooleanSupplier visible;
+		final IntSupplier refreshRate;
+		long lastRenderTime;
+		long renders;
+		long skipped;
+
+		Renderable(String name, Runnable renderCode, BooleanSupplier visible, IntSupplier refreshRate) {
+			this.name = name;
+			this.renderCode = renderCode;
+			this.visible = visible;
+			this.refreshRate = refreshRate;
+		}
+
+		boolean isDue(long time) {
+			if (!visible.getAsBoolean()) {
+				return false;
+			}
+			int rate = refreshRate.getAsInt();
+			return rate <= EVERY_FRAME || lastRenderTime == 0 || time - lastRenderTime >= INTERVAL_TOLERANCE * 1e9 / rate;
+		}
+	}
+
+	private final List<Renderable> renderables = new ArrayList<>();
+
+	/**
+	 * Adds a part that is always visible and rendered in every frame.
+	 * 
+	 * @param name       name used in statistics
+	 * @param renderCode render code
+	 */
+	public void add(String name, Runnable renderCode) {
+		add(name, renderCode, () -> true, () -> EVERY_FRAME);
+	}
+
+	/**
+	 * @param name        name used in statistics
+	 * @param renderCode  render code
+	 * @param visible     tells if part is currently visible, invisible parts are not rendered
+	 * @param refreshRate desired refresh rate in Hz, {@link #EVERY_FRAME} means render in every frame
+	 */
+	public void add(String name, Runnable renderCode, BooleanSupplier visible, IntSupplier refreshRate) {
+		renderables.add(new Renderable(name, renderCode, visible, refreshRate));
+	}
+
+	/**
+	 * Renders all parts that are visible and due, in the order they were added.
+	 */
+	public void render() {
+		long time = System.nanoTime();
+		for (var r : renderables) {
+			if (r.isDue(time)) {
+				r.renderCode.run();
+				r.lastRenderTime = time;
+				++r.renders;
+			} else {
+				++r.skipped;
+			}
+		}
+	}
+
+	/**
+	 * @return total number of skipped renders of all parts
+	 */
+	public long getSkippedRenders() {
+		return renderables.stream().mapToLong(r -> r.skipped).sum();
+	}
+
+	/**
+	 * @return skipped renders per part, e.g. "PiP 1234, Dashboard 5678"
+	 */
+	public String skippedRendersSummary() {
+		return renderables.stream().filter(r -> r.skipped > 0).map(r -> r.name + " " + r.skipped)
+				.collect(Collectors.joining(", "));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package de.amr.games.pacman.ui.fx.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.tinylog.Logger;
+
+/**
+ * Loads resource sections concurrently on a fixed thread pool. A section starts when all sections it depends on are
+ * done. {@link #awaitAll()} waits for all sections and logs a report comparing the wall-clock time with the summed
+ * time and CPU time of the sections.
+ * 
+ * @author Armin Reichert
+ */
+public class ResourceLoader implements AutoCloseable {
+
+	/**
+	 * A resource section scheduled for loading.
+	 */
+	public static class Section {
+		private final String name;
+		private final CompletableFuture<Void> done = new CompletableFuture<>();
+		private volatile long startTime;
+		private volatile long nanos;
+		private volatile long cpuNanos;
+		private volatile String threadName;
+
+		private Section(String name) {
+			this.name = name;
+		}
+	}
+
+	private final String name;
+	private final ExecutorService executor;
+	private final List<Section> sections = new ArrayList<>();
+	private final long startTime = System.nanoTime();
+
+	/**
+	 * @param name       name used in the report
+	 * @param numThreads number of loader threads
+	 */
+	public ResourceLoader(String name, int numThreads) {
+		this.name = name;
+		executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+			var thread = new Thread(runnable, "ResourceLoader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public ResourceLoader(String name) {
+		this(name, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Schedules a section for loading.
+	 * 
+	 * @param sectionName  section name
+	 * @param loadingCode  code loading the section
+	 * @param dependencies sections which must be loaded before this section
+	 * @return the scheduled section
+	 */
+	public Section load(String sectionName, Runnable loadingCode, Section... dependencies) {
+		var prerequisites = CompletableFuture
+				.allOf(List.of(dependencies).stream().map(dependency -> dependency.done).toArray(CompletableFuture[]::new));
+		var section = new Section(sectionName);
+		synchronized (sections) {
+			sections.add(section);
+		}
+		prerequisites.thenRunAsync(() -> run(section, loadingCode), executor).whenComplete((result, x) -> {
+			if (x == null) {
+				section.done.complete(null);
+			} else {
+				section.done.completeExceptionally(x);
+			}
+		});
+		return section;
+	}
+
+	private static void run(Section section, Runnable loadingCode) {
+		var threadMX = ManagementFactory.getThreadMXBean();
+		boolean cpuTimeSupported = threadMX.isCurrentThreadCpuTimeSupported();
+		long cpuStart = cpuTimeSupported ? threadMX.getCurrentThreadCpuTime() : 0;
+		section.threadName = Thread.currentThread().getName();
+		section.startTime = System.nanoTime();
+		loadingCode.run();
+		section.nanos = System.nanoTime() - section.startTime;
+		section.cpuNanos = cpuTimeSupported ? threadMX.getCurrentThreadCpuTime() - cpuStart : 0;
+		Logger.info("Loading {} done ({} seconds).", section.name, section.nanos / 1e9f);
+	}
+
+	/**
+	 * Waits until all sections are loaded and logs the startup report.
+	 * 
+	 * @throws RuntimeException if loading of a section failed
+	 */
+	public void awaitAll() {
+		List<Section> scheduled;
+		synchronized (sections) {
+			scheduled = new ArrayList<>(sections);
+		}
+		try {
+			CompletableFuture.allOf(scheduled.stream().map(section -> section.done).toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException x) {
+			if (x.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw x;
+		}
+		logReport(scheduled);
+	}
+
+	private void logReport(List<Section> scheduled) {
+		long wallNanos = System.nanoTime() - startTime;
+		long sumNanos = scheduled.stream().mapToLong(section -> section.nanos).sum();
+		long sumCpuNanos = scheduled.stream().mapToLong(section -> section.cpuNanos).sum();
+		Logger.info("Loading {} took {} seconds (sections: {} seconds, CPU: {} seconds, speedup {}).", name,
+				"%.3f".formatted(wallNanos / 1e9), "%.3f".formatted(sumNanos / 1e9), "%.3f".formatted(sumCpuNanos / 1e9),
+				"%.2f".formatted((double) sumNanos / wallNanos));
+		for (var section : scheduled) {
+			Logger.info("  {} started at {} ms, took {} ms (CPU {} ms) on {}", "%-24s".formatted(section.name),
+					(section.startTime - startTime) / 1_000_000, section.nanos / 1_000_000, section.cpuNanos / 1_000_000,
+					section.threadName);
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+}
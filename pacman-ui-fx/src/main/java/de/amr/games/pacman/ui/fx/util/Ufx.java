@@ -31,8 +31,6 @@ import javafx.beans.binding.Bindings;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.util.Duration;
@@ -92,20 +90,11 @@ public class Ufx {
 	/**
 	 * @param source    source image
 	 * @param exchanges map of color exchanges
-	 * @return copy of source image with colors exchanged
+	 * @return copy of source image with colors exchanged, all other pixels are transparent
+	 * @see PaletteSwap
 	 */
 	public static Image colorsExchanged(Image source, Map<Color, Color> exchanges) {
-		WritableImage result = new WritableImage((int) source.getWidth(), (int) source.getHeight());
-		PixelWriter out = result.getPixelWriter();
-		for (int x = 0; x < source.getWidth(); ++x) {
-			for (int y = 0; y < source.getHeight(); ++y) {
-				Color color = source.getPixelReader().getColor(x, y);
-				if (exchanges.containsKey(color)) {
-					out.setColor(x, y, exchanges.get(color));
-				}
-			}
-		}
-		return result;
+		return new PaletteSwap(exchanges, false).apply(source);
 	}
 
 }
\ No newline at end of file
@@ -19,6 +19,8 @@
 module de.amr.games.pacman.ui.fx {
 
 	requires transitive de.amr.games.pacman;
+	requires java.desktop;
+	requires java.management;
 	requires transitive javafx.controls;
 	requires transitive javafx.media;
 	requires transitive org.tinylog.api;